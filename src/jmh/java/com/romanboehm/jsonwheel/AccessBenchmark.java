@@ -0,0 +1,141 @@
+package com.romanboehm.jsonwheel;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Reads a {@link Payloads.Shape#MIXED} document and extracts a value from every element through the {@link JsonWheel.WheelNode}
+ * accessors, a {@link JsonWheel.Handler}, or jackson-jr's plain maps and lists respectively.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessBenchmark {
+
+    @Param
+    Payloads.Size size;
+
+    String json;
+
+    JsonWheel.Parser parser;
+
+    @Setup
+    public void setUp() {
+        json = Payloads.of(Payloads.Shape.MIXED, size);
+        parser = JsonWheel.parser();
+    }
+
+    @Benchmark
+    public long jsonWheel() {
+        long sum = 0;
+        for (var element : JsonWheel.read(json).elements()) {
+            sum += element.get("id").val(Integer.class);
+            sum += element.get("address").get("city").val(String.class).length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long jsonWheelLazy() {
+        long sum = 0;
+        for (var element : JsonWheel.readLazy(json).elements()) {
+            sum += element.get("id").val(Integer.class);
+            sum += element.get("address").get("city").val(String.class).length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long jsonWheelLazyText() {
+        long sum = 0;
+        for (var element : JsonWheel.readLazy(json).elements()) {
+            sum += element.get("id").val(Integer.class);
+            sum += element.get("address").get("city").text().length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long jsonWheelExtract() {
+        long sum = 0;
+        var extracted = JsonWheel.extract(json, "$[*].id", "$[*].address.city");
+        for (var id : extracted.get("$[*].id")) {
+            sum += id.val(Integer.class);
+        }
+        for (var city : extracted.get("$[*].address.city")) {
+            sum += city.val(String.class).length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long jsonWheelHandler() {
+        var handler = new JsonWheel.Handler() {
+            long sum;
+            int depth;
+            String key;
+
+            @Override
+            public void startObject() {
+                depth++;
+            }
+
+            @Override
+            public void endObject() {
+                depth--;
+            }
+
+            @Override
+            public void key(CharSequence key) {
+                // Compares rather than copies the key, keeping the handler free of garbage.
+                this.key = "id".contentEquals(key) ? "id" : "city".contentEquals(key) ? "city" : null;
+            }
+
+            @Override
+            public void onLong(long value) {
+                if (depth == 1 && key == "id") {
+                    sum += value;
+                }
+            }
+
+            @Override
+            public void onString(CharSequence value) {
+                if (depth == 2 && key == "city") {
+                    sum += value.length();
+                }
+            }
+        };
+        parser.parse(json, handler);
+        return handler.sum;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public long jacksonJr() throws IOException {
+        long sum = 0;
+        for (var element : (List<Map<String, Object>>) JSON.std.anyFrom(json)) {
+            sum += (Integer) element.get("id");
+            sum += ((String) ((Map<String, Object>) element.get("address")).get("city")).length();
+        }
+        return sum;
+    }
+}
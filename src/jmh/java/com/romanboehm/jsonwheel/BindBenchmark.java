@@ -0,0 +1,172 @@
+package com.romanboehm.jsonwheel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Binds a {@link Payloads.Shape#MIXED} document to records or beans through {@link JsonWheel#read(String, Class)}, or
+ * to records through {@link JsonWheel.ObjectReader}s written for them, compared to reading the tree and copying it into
+ * records by hand, and to jackson-jr's bean binding.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BindBenchmark {
+
+    public record Address(String street, String city, String zip) {
+    }
+
+    public record User(int id, String name, String email, boolean active, double score, List<String> tags, Address address, String bio, String manager) {
+    }
+
+    public static class AddressBean {
+        public String street;
+        public String city;
+        public String zip;
+    }
+
+    public static class UserBean {
+        public int id;
+        public String name;
+        public String email;
+        public boolean active;
+        public double score;
+        public List<String> tags;
+        public AddressBean address;
+        public String bio;
+        public String manager;
+    }
+
+    static final JsonWheel.ObjectReader<Address> ADDRESS = new JsonWheel.ObjectReader<>() {
+        @Override
+        Address read(JsonWheel.ObjectCursor object) {
+            String street = null;
+            String city = null;
+            String zip = null;
+            while (object.next()) {
+                switch (object.key()) {
+                    case "street" -> street = object.readString();
+                    case "city" -> city = object.readString();
+                    case "zip" -> zip = object.readString();
+                    default -> {
+                    }
+                }
+            }
+            return new Address(street, city, zip);
+        }
+    };
+
+    static final JsonWheel.ObjectReader<User> USER = new JsonWheel.ObjectReader<>() {
+        @Override
+        User read(JsonWheel.ObjectCursor object) {
+            int id = 0;
+            String name = null;
+            String email = null;
+            boolean active = false;
+            double score = 0;
+            List<String> tags = null;
+            Address address = null;
+            String bio = null;
+            String manager = null;
+            while (object.next()) {
+                switch (object.key()) {
+                    case "id" -> id = object.readInt();
+                    case "name" -> name = object.readString();
+                    case "email" -> email = object.readString();
+                    case "active" -> active = object.readBoolean();
+                    case "score" -> score = object.readDouble();
+                    case "tags" -> tags = object.read(List.class);
+                    case "address" -> address = object.read(ADDRESS);
+                    case "bio" -> bio = object.readString();
+                    case "manager" -> manager = object.readString();
+                    default -> {
+                    }
+                }
+            }
+            return new User(id, name, email, active, score, tags, address, bio, manager);
+        }
+    };
+
+    static final JsonWheel.ObjectReader<List<User>> USERS = new JsonWheel.ObjectReader<>() {
+        @Override
+        List<User> read(JsonWheel.ObjectCursor object) {
+            object.next();
+            return object.readList(USER);
+        }
+    };
+
+    @Param
+    Payloads.Size size;
+
+    String json;
+
+    String wrapped; // Readers only read objects.
+
+    @Setup
+    public void setUp() {
+        json = Payloads.of(Payloads.Shape.MIXED, size);
+        wrapped = "{\"users\":" + json + "}";
+    }
+
+    @Benchmark
+    public User[] jsonWheelRecords() {
+        return JsonWheel.read(json, User[].class);
+    }
+
+    @Benchmark
+    public List<User> jsonWheelReader() {
+        return JsonWheel.read(wrapped, USERS);
+    }
+
+    @Benchmark
+    public UserBean[] jsonWheelBeans() {
+        return JsonWheel.read(json, UserBean[].class);
+    }
+
+    @Benchmark
+    public List<User> jsonWheelByHand() {
+        var users = new ArrayList<User>();
+        for (var element : JsonWheel.read(json).elements()) {
+            var address = element.get("address");
+            var tags = new ArrayList<String>();
+            for (var tag : element.get("tags").elements()) {
+                tags.add(tag.val(String.class));
+            }
+            users.add(new User(
+                    element.get("id").val(Integer.class),
+                    element.get("name").val(String.class),
+                    element.get("email").val(String.class),
+                    element.get("active").val(Boolean.class),
+                    element.get("score").val(Double.class),
+                    tags,
+                    new Address(address.get("street").val(String.class), address.get("city").val(String.class), address.get("zip").val(String.class)),
+                    element.get("bio").val(String.class),
+                    element.get("manager").val(String.class)));
+        }
+        return users;
+    }
+
+    @Benchmark
+    public UserBean[] jacksonJrBeans() throws IOException {
+        return JSON.std.arrayOfFrom(UserBean.class, json);
+    }
+}
@@ -0,0 +1,47 @@
+package com.romanboehm.jsonwheel;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Prints the retained heap of the trees JsonWheel and jackson-jr build for the json.org fixtures and some of the
+ * benchmark payloads, and of two versions of a document read as a whole or as a {@link JsonWheel.Snapshot} refreshed from
+ * the first. Run with {@code ./mvnw -Pdefault,jmh test-compile exec:exec@footprint}.
+ */
+public class Footprint {
+
+    public static void main(String... args) throws IOException, URISyntaxException {
+        var jsons = new LinkedHashMap<String, String>();
+        try (var paths = Files.list(Paths.get(Footprint.class.getResource("/jsondotorg/pass").toURI()))) {
+            for (Path path : paths.sorted().toList()) {
+                jsons.put(path.getFileName().toString(), Files.readString(path));
+            }
+        }
+        for (var shape : Payloads.Shape.values()) {
+            jsons.put(shape + " " + Payloads.Size.MEDIUM, Payloads.of(shape, Payloads.Size.MEDIUM));
+        }
+
+        System.out.printf("%-16s %14s %14s %8s%n", "payload", "jsonWheel (B)", "jacksonJr (B)", "ratio");
+        for (var json : jsons.entrySet()) {
+            long wheel = GraphLayout.parseInstance(JsonWheel.read(json.getValue()).inner).totalSize();
+            long jackson = GraphLayout.parseInstance(JSON.std.anyFrom(json.getValue())).totalSize();
+            System.out.printf("%-16s %14d %14d %8.2f%n", json.getKey(), wheel, jackson, (double) wheel / jackson);
+        }
+
+        var v1 = Payloads.of(Payloads.Shape.MIXED, Payloads.Size.MEDIUM);
+        var v2 = v1.replaceFirst("\"active\":(true|false)", "\"active\":null");
+        long reads = GraphLayout.parseInstance(JsonWheel.read(v1).inner, JsonWheel.read(v2).inner).totalSize();
+        var snapshot = JsonWheel.snapshot(v1);
+        long snapshots = GraphLayout.parseInstance(snapshot.root().inner, snapshot.refresh(v2).root().inner).totalSize();
+        System.out.printf("%n%-16s %14s %14s %8s%n", "two versions", "read (B)", "snapshot (B)", "ratio");
+        System.out.printf("%-16s %14d %14d %8.2f%n", "MIXED MEDIUM", reads, snapshots, (double) snapshots / reads);
+    }
+}
@@ -0,0 +1,69 @@
+package com.romanboehm.jsonwheel;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Reads newline-delimited {@link Payloads.Shape#MIXED} documents sequentially and in parallel, compared against splitting
+ * the lines by hand and reading each one with jackson-jr.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinesBenchmark {
+
+    @Param({ "MEDIUM", "LARGE" })
+    Payloads.Size size;
+
+    byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        bytes = Payloads.lines(size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long jsonWheel() {
+        return JsonWheel.readLines(bytes).count();
+    }
+
+    @Benchmark
+    public long jsonWheelParallel() {
+        return JsonWheel.readLines(bytes).parallel().count();
+    }
+
+    @Benchmark
+    public long jacksonJr() throws IOException {
+        long count = 0;
+        try (var reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (JSON.std.anyFrom(line) != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,138 @@
+package com.romanboehm.jsonwheel;
+
+import java.util.Random;
+
+/**
+ * Deterministic JSON documents of different shapes and sizes for the benchmarks.
+ */
+public class Payloads {
+
+    public enum Shape {
+        /** Objects and arrays nested a hundred levels deep. */
+        DEEP,
+        /** Objects with a few hundred fields each. */
+        WIDE,
+        /** Arrays of integers, longs and decimals. */
+        NUMBERS,
+        /** Strings full of escape sequences. */
+        ESCAPES,
+        /** A mix of everything, resembling a typical API response. */
+        MIXED
+    }
+
+    public enum Size {
+        SMALL(1_000),
+        MEDIUM(100_000),
+        LARGE(4_000_000);
+
+        final int approxChars;
+
+        Size(int approxChars) {
+            this.approxChars = approxChars;
+        }
+    }
+
+    static String of(Shape shape, Size size) {
+        var random = new Random(42);
+        var sb = new StringBuilder(size.approxChars + 1_000);
+        sb.append('[');
+        boolean first = true;
+        while (sb.length() < size.approxChars) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            switch (shape) {
+                case DEEP -> deep(sb, random, 100);
+                case WIDE -> wide(sb, random);
+                case NUMBERS -> numbers(sb, random);
+                case ESCAPES -> escapes(sb, random);
+                case MIXED -> mixed(sb, random);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Newline-delimited {@link Shape#MIXED} documents.
+     */
+    static String lines(Size size) {
+        var random = new Random(42);
+        var sb = new StringBuilder(size.approxChars + 1_000);
+        while (sb.length() < size.approxChars) {
+            mixed(sb, random);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void deep(StringBuilder sb, Random random, int depth) {
+        if (depth == 0) {
+            sb.append(random.nextInt());
+            return;
+        }
+        if (depth % 2 == 0) {
+            sb.append("{\"level").append(depth).append("\":");
+            deep(sb, random, depth - 1);
+            sb.append('}');
+        }
+        else {
+            sb.append('[');
+            deep(sb, random, depth - 1);
+            sb.append(",true]");
+        }
+    }
+
+    private static void wide(StringBuilder sb, Random random) {
+        sb.append('{');
+        for (int i = 0; i < 300; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("\"field").append(i).append("\":");
+            switch (i % 4) {
+                case 0 -> sb.append(random.nextInt(1_000));
+                case 1 -> sb.append('"').append(Long.toHexString(random.nextLong())).append('"');
+                case 2 -> sb.append(random.nextBoolean());
+                default -> sb.append("null");
+            }
+        }
+        sb.append('}');
+    }
+
+    private static void numbers(StringBuilder sb, Random random) {
+        sb.append('[');
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            switch (i % 3) {
+                case 0 -> sb.append(random.nextInt());
+                case 1 -> sb.append(random.nextLong());
+                default -> sb.append(random.nextDouble() * 1_000_000);
+            }
+        }
+        sb.append(']');
+    }
+
+    private static void escapes(StringBuilder sb, Random random) {
+        String[] escapes = { "\\n", "\\t", "\\\"", "\\\\", "\\/", "\\u00e9", "\\u81ea", "\\uD83E\\uDDEA" };
+        sb.append('"');
+        for (int i = 0; i < 50; i++) {
+            sb.append("text").append(escapes[random.nextInt(escapes.length)]);
+        }
+        sb.append('"');
+    }
+
+    private static void mixed(StringBuilder sb, Random random) {
+        sb.append("{\"id\":").append(random.nextInt(1_000_000))
+                .append(",\"name\":\"user").append(random.nextInt(1_000)).append('"')
+                .append(",\"email\":\"user@example.com\"")
+                .append(",\"active\":").append(random.nextBoolean())
+                .append(",\"score\":").append(random.nextDouble() * 100)
+                .append(",\"tags\":[\"a\",\"b\",\"c\"]")
+                .append(",\"address\":{\"street\":\"Stra\\u00dfe 1\",\"city\":\"Berlin\",\"zip\":\"10115\"}")
+                .append(",\"bio\":\"Line one\\nLine \\\"two\\\"\"")
+                .append(",\"manager\":null}");
+    }
+}
@@ -0,0 +1,102 @@
+package com.romanboehm.jsonwheel;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Compares {@link JsonWheel#read(String)} against jackson-jr's {@link JSON#anyFrom(String)} for all payload shapes and
+ * sizes, and against only validating through {@link JsonWheel#validate(String)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param
+    Payloads.Shape shape;
+
+    @Param
+    Payloads.Size size;
+
+    String json;
+
+    byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        json = Payloads.of(shape, size);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parsers aren't thread-safe, so each benchmark thread gets one of its own.
+     */
+    @State(Scope.Thread)
+    public static class ParserState {
+        final JsonWheel.Parser parser = JsonWheel.parser();
+    }
+
+    @Benchmark
+    public Object jsonWheel() {
+        return JsonWheel.read(json).inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelBytes() {
+        return JsonWheel.read(bytes).inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelParallelBytes() {
+        return JsonWheel.readParallel(bytes, ForkJoinPool.commonPool()).inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelParser(ParserState state) {
+        return state.parser.read(json).inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelParserBytes(ParserState state) {
+        return state.parser.read(bytes).inner;
+    }
+
+    @Benchmark
+    public int jsonWheelValidate() {
+        return JsonWheel.validate(json);
+    }
+
+    @Benchmark
+    public int jsonWheelValidateBytes() {
+        return JsonWheel.validate(bytes);
+    }
+
+    @Benchmark
+    public Object jacksonJr() throws IOException {
+        return JSON.std.anyFrom(json);
+    }
+
+    @Benchmark
+    public Object jacksonJrBytes() throws IOException {
+        return JSON.std.anyFrom(bytes);
+    }
+}
@@ -0,0 +1,69 @@
+package com.romanboehm.jsonwheel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads documents which mostly exercise a single scanning routine of {@link JsonWheel.Deserializer}: skipping
+ * whitespace, finding the end of numbers, checking literals or decoding escape sequences.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScanBenchmark {
+
+    public enum Routine {
+        WHITESPACE("[\n        1,\n        {\n            \"a\" : true\n        }\r\n\t\t]"),
+        NUMBERS("[-12.5e-3,1E+10,123456,0.25]"),
+        LITERALS("[true,false,null,true]"),
+        ESCAPES("[\"\\u00e9\\u00C9\\\"\\n\\t\\\\\",\"\\ud83d\\ude00\\/\\u0041\\u0042\\u0043\"]");
+
+        private final String element;
+
+        Routine(String element) {
+            this.element = element;
+        }
+    }
+
+    @Param
+    Routine routine;
+
+    String json;
+
+    byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        var json = new StringBuilder("[");
+        for (int i = 0; i < 2_000; i++) {
+            json.append(i > 0 ? "," : "").append(routine.element);
+        }
+        this.json = json.append("]").toString();
+        bytes = this.json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object jsonWheel() {
+        return JsonWheel.read(json).inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelBytes() {
+        return JsonWheel.read(bytes).inner;
+    }
+}
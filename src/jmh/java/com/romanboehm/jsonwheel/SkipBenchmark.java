@@ -0,0 +1,68 @@
+package com.romanboehm.jsonwheel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads a single small value out of an object that also holds an embedded base64 image and a
+ * {@link Payloads.Shape#MIXED} debug trace of the given size, either as a whole or skipping all other keys through
+ * {@link JsonWheel#readKeys(String, String...)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkipBenchmark {
+
+    @Param
+    Payloads.Size size;
+
+    String json;
+
+    byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        var trace = Payloads.of(Payloads.Shape.MIXED, size);
+        var image = new byte[trace.length()];
+        new Random(42).nextBytes(image);
+        json = "{\"image\":\"" + Base64.getEncoder().encodeToString(image) + "\",\"trace\":" + trace + ",\"id\":42}";
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object jsonWheel() {
+        return JsonWheel.read(json).get("id").inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelBytes() {
+        return JsonWheel.read(bytes).get("id").inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelKeys() {
+        return JsonWheel.readKeys(json, "id").get("id").inner;
+    }
+
+    @Benchmark
+    public Object jsonWheelKeysBytes() {
+        return JsonWheel.readKeys(bytes, "id").get("id").inner;
+    }
+}
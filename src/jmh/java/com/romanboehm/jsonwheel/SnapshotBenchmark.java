@@ -0,0 +1,57 @@
+package com.romanboehm.jsonwheel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads the next version of a {@link Payloads.Shape#MIXED} document, differing in a single value, as a plain tree, as a
+ * fresh {@link JsonWheel.Snapshot}, or by refreshing the snapshot of the previous version.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    @Param
+    Payloads.Size size;
+
+    String next;
+
+    JsonWheel.Snapshot previous;
+
+    @Setup
+    public void setUp() {
+        var json = Payloads.of(Payloads.Shape.MIXED, size);
+        next = json.replaceFirst("\"active\":(true|false)", "\"active\":null");
+        previous = JsonWheel.snapshot(json);
+    }
+
+    @Benchmark
+    public Object jsonWheel() {
+        return JsonWheel.read(next).inner;
+    }
+
+    @Benchmark
+    public JsonWheel.Snapshot jsonWheelSnapshot() {
+        return JsonWheel.snapshot(next);
+    }
+
+    @Benchmark
+    public JsonWheel.Snapshot jsonWheelRefresh() {
+        return previous.refresh(next);
+    }
+}
@@ -0,0 +1,64 @@
+package com.romanboehm.jsonwheel;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Compares {@link JsonWheel#write(Object)} against jackson-jr's {@link JSON#asString(Object)} for all payload shapes and
+ * sizes, both writing the same tree of maps and lists.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteBenchmark {
+
+    @Param
+    Payloads.Shape shape;
+
+    @Param
+    Payloads.Size size;
+
+    Object tree;
+
+    @Setup
+    public void setUp() throws IOException {
+        tree = JSON.std.anyFrom(Payloads.of(shape, size));
+    }
+
+    @Benchmark
+    public String jsonWheel() {
+        return JsonWheel.write(tree);
+    }
+
+    @Benchmark
+    public byte[] jsonWheelBytes() {
+        return JsonWheel.writeBytes(tree);
+    }
+
+    @Benchmark
+    public String jacksonJr() throws IOException {
+        return JSON.std.asString(tree);
+    }
+
+    @Benchmark
+    public byte[] jacksonJrBytes() throws IOException {
+        return JSON.std.asBytes(tree);
+    }
+}
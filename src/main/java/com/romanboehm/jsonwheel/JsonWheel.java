@@ -1,23 +1,494 @@
 package com.romanboehm.jsonwheel;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Copyright (c) 2022 Roman Böhm. Subject to the Apache License 2.0.
  * See also https://github.com/romanboehm/jsonwheel.
  */
 class JsonWheel {
+    private static volatile Listener listener;
 
     static WheelNode read(String json) {
         char[] chars = json.toCharArray();
-        return new Deserializer(chars).readInternal();
+        return new Deserializer(new CharSource(chars)).readInternal();
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON without decoding it into a String first. Only the strings that end up in the tree get
+     * decoded.
+     */
+    static WheelNode read(byte[] json) {
+        return new Deserializer(new ByteSource(json, 0, json.length)).readInternal();
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON from the buffer's position to its limit. The buffer's position is left untouched.
+     */
+    static WheelNode read(ByteBuffer json) {
+        return new Deserializer(source(json)).readInternal();
+    }
+
+    /**
+     * Reads a file of UTF-8 encoded JSON by mapping it into memory, rather than reading it onto the heap first. Files
+     * may be up to 2 GB large.
+     */
+    static WheelNode read(Path file) {
+        return new Deserializer(source(map(file))).readInternal();
+    }
+
+    /**
+     * Reads JSON, resolving object keys through the given symbol table, which may be shared with other reads.
+     */
+    static WheelNode read(String json, SymbolTable symbols) {
+        return new Deserializer(new CharSource(json.toCharArray()), symbols).readInternal();
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON, resolving object keys through the given symbol table, see
+     * {@link #read(String, SymbolTable)}.
+     */
+    static WheelNode read(byte[] json, SymbolTable symbols) {
+        return new Deserializer(new ByteSource(json, 0, json.length), symbols).readInternal();
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON from the buffer's position to its limit, resolving object keys through the given symbol
+     * table, see {@link #read(String, SymbolTable)}.
+     */
+    static WheelNode read(ByteBuffer json, SymbolTable symbols) {
+        return new Deserializer(source(json), symbols).readInternal();
+    }
+
+    /**
+     * Reads JSON, but of a top-level object only the values of the given keys. The others are skipped by matching
+     * brackets and quotes, rather than read, so that large values which aren't needed cost little more than a scan. Other
+     * top-level values are read as a whole.
+     */
+    static WheelNode readKeys(String json, String... keys) {
+        return new Deserializer(new StringSource(json)).only(keys).readInternal(); // Mostly scans, so doesn't copy.
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON, but of a top-level object only the values of the given keys, see
+     * {@link #readKeys(String, String...)}.
+     */
+    static WheelNode readKeys(byte[] json, String... keys) {
+        return new Deserializer(new ByteSource(json, 0, json.length)).only(keys).readInternal();
+    }
+
+    /**
+     * Reads JSON straight into the given type, without building the untyped tree first. Binds records through their
+     * canonical constructors, other classes through their no-argument constructors and then their setters or fields.
+     * Supports strings, numbers, booleans, enums, arrays, {@link List}s, {@link Map}s, and {@link WheelNode}s or
+     * {@link Object}s for untyped values. Unknown keys are skipped, missing ones leave their properties at defaults.
+     */
+    static <T> T read(String json, Class<T> type) {
+        return new Deserializer(new CharSource(json.toCharArray())).bind(type);
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON straight into the given type, see {@link #read(String, Class)}.
+     */
+    static <T> T read(byte[] json, Class<T> type) {
+        return new Deserializer(new ByteSource(json, 0, json.length)).bind(type);
+    }
+
+    /**
+     * Reads JSON through code written for the expected type, rather than through reflection, see {@link ObjectReader}.
+     */
+    static <T> T read(String json, ObjectReader<T> reader) {
+        return new Deserializer(new CharSource(json.toCharArray())).bind(reader);
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON through code written for the expected type, see {@link ObjectReader}.
+     */
+    static <T> T read(byte[] json, ObjectReader<T> reader) {
+        return new Deserializer(new ByteSource(json, 0, json.length)).bind(reader);
+    }
+
+    /**
+     * Only indexes where the values are, and decodes just the ones actually accessed through the returned node. The
+     * input must not be modified while the node is in use. All nodes of a lazy tree decode through the same
+     * {@link Deserializer}, so they must only be used from one thread at a time.
+     */
+    static WheelNode readLazy(String json) {
+        return new Deserializer(new CharSource(json.toCharArray())).readLazy();
+    }
+
+    /**
+     * Lazily reads UTF-8 encoded JSON, see {@link #readLazy(String)}.
+     */
+    static WheelNode readLazy(byte[] json) {
+        return new Deserializer(new ByteSource(json, 0, json.length)).readLazy();
+    }
+
+    /**
+     * Lazily reads UTF-8 encoded JSON from the buffer's position to its limit, see {@link #readLazy(String)}.
+     */
+    static WheelNode readLazy(ByteBuffer json) {
+        return new Deserializer(source(json)).readLazy();
+    }
+
+    /**
+     * Lazily reads a file of UTF-8 encoded JSON by mapping it into memory, see {@link #readLazy(String)} and
+     * {@link #read(Path)}. Only the index and the values accessed take up heap.
+     */
+    static WheelNode readLazy(Path file) {
+        return new Deserializer(source(map(file))).readLazy();
+    }
+
+    /**
+     * Pulls tokens from the reader one by one. Memory use is bounded by the nesting depth and the buffer size, unless a
+     * single string or number is longer than the buffer.
+     */
+    static Tokenizer tokenize(Reader json) {
+        return new Tokenizer(json, Tokenizer.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Pulls tokens from the UTF-8 encoded stream one by one, see {@link #tokenize(Reader)}.
+     */
+    static Tokenizer tokenize(InputStream json) {
+        return tokenize(new InputStreamReader(json, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a top-level array on the pool's threads, each reading a chunk of its elements. The result is the same as
+     * {@link #read(String)}'s, also to a {@link Listener}. Anything other than a large enough array is read
+     * sequentially.
+     */
+    static WheelNode readParallel(String json, ForkJoinPool pool) {
+        return new ParallelArrayReader(new CharSource(json.toCharArray())).read(pool);
+    }
+
+    /**
+     * Reads a top-level array of UTF-8 encoded JSON in parallel, see {@link #readParallel(String, ForkJoinPool)}.
+     */
+    static WheelNode readParallel(byte[] json, ForkJoinPool pool) {
+        return new ParallelArrayReader(new ByteSource(json, 0, json.length)).read(pool);
+    }
+
+    /**
+     * Reads a top-level array of UTF-8 encoded JSON from the buffer's position to its limit in parallel, see
+     * {@link #readParallel(String, ForkJoinPool)}.
+     */
+    static WheelNode readParallel(ByteBuffer json, ForkJoinPool pool) {
+        return new ParallelArrayReader(source(json)).read(pool);
+    }
+
+    /**
+     * Reads a top-level array from a file of UTF-8 encoded JSON in parallel, see
+     * {@link #readParallel(String, ForkJoinPool)} and {@link #read(Path)}.
+     */
+    static WheelNode readParallel(Path file, ForkJoinPool pool) {
+        return new ParallelArrayReader(source(map(file))).read(pool);
+    }
+
+    /**
+     * Reads UTF-8 encoded, newline-delimited JSON, i.e. one document per line. Blank lines are skipped. The stream reads
+     * the lines in parallel when made {@link Stream#parallel() parallel}, splitting the input at newlines.
+     */
+    static Stream<WheelNode> readLines(byte[] json) {
+        return readLines(ByteBuffer.wrap(json));
+    }
+
+    /**
+     * Reads UTF-8 encoded, newline-delimited JSON from the buffer's position to its limit, see
+     * {@link #readLines(byte[])}. The buffer's position is left untouched.
+     */
+    static Stream<WheelNode> readLines(ByteBuffer json) {
+        return StreamSupport.stream(new LineSpliterator(json.slice(), 0, json.remaining()), false);
+    }
+
+    /**
+     * Reads a file of UTF-8 encoded, newline-delimited JSON by mapping it into memory, see {@link #readLines(byte[])}.
+     */
+    static Stream<WheelNode> readLines(Path file) {
+        List<ByteBuffer> regions = LineSpliterator.map(file, Integer.MAX_VALUE);
+        return concat(regions, 0, regions.size());
+    }
+
+    /**
+     * Reads a file of UTF-8 encoded, newline-delimited JSON on {@code parallelism} threads, handing each document to
+     * the consumer as soon as it is read, in no particular order. The consumer is called from several threads at once,
+     * so must be thread-safe.
+     */
+    static void readLines(Path file, int parallelism, Consumer<WheelNode> consumer) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ByteBuffer> regions = LineSpliterator.map(file, Integer.MAX_VALUE);
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (ByteBuffer region : regions) {
+                LineSpliterator lines = new LineSpliterator(region, 0, region.limit());
+                tasks.add(pool.submit(new LineTask(lines, Math.max(region.limit() / (4L * parallelism), 1), consumer)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join(); // Rethrows whatever reading the lines threw.
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Stream<WheelNode> concat(List<ByteBuffer> regions, int from, int to) {
+        if (to - from == 1) {
+            ByteBuffer region = regions.get(from);
+            return StreamSupport.stream(new LineSpliterator(region, 0, region.limit()), false);
+        }
+        if (to == from) {
+            return Stream.empty();
+        }
+        int mid = (from + to) >>> 1; // Concatenate as a balanced tree, which splits evenly when going parallel.
+        return Stream.concat(concat(regions, from, mid), concat(regions, mid, to));
+    }
+
+    /**
+     * Reports the JSON's structure and values to the handler as they're read, rather than building a tree. Apart from
+     * copying the String, doesn't allocate anything for the usual strings and numbers, see {@link Handler}.
+     */
+    static void parse(String json, Handler handler) {
+        new Deserializer(new CharSource(json.toCharArray())).parse(handler);
+    }
+
+    /**
+     * Reports UTF-8 encoded JSON to the handler as it's read, see {@link #parse(String, Handler)}.
+     */
+    static void parse(byte[] json, Handler handler) {
+        new Deserializer(new ByteSource(json, 0, json.length)).parse(handler);
+    }
+
+    /**
+     * Reports UTF-8 encoded JSON from the buffer's position to its limit to the handler as it's read, see
+     * {@link #parse(String, Handler)}. The buffer's position is left untouched.
+     */
+    static void parse(ByteBuffer json, Handler handler) {
+        new Deserializer(source(json)).parse(handler);
+    }
+
+    /**
+     * Reports the UTF-8 encoded file to the handler as it's read, mapping it into memory, see
+     * {@link #parse(String, Handler)}.
+     */
+    static void parse(Path file, Handler handler) {
+        new Deserializer(source(map(file))).parse(handler);
+    }
+
+    /**
+     * Checks that the JSON strictly follows RFC 8259, without reading any values, and returns the offset of the first
+     * character breaking it, or -1 if there's none. Unlike {@link #read(String)}, rejects e.g. leading zeros, control
+     * characters in strings, unknown escapes and anything following the value. Nesting deeper than
+     * {@link Deserializer#DEFAULT_MAX_DEPTH} is rejected at the bracket exceeding it, as reading would fail there, too.
+     */
+    static int validate(String json) {
+        return new Validator(new StringSource(json), false).validate();
+    }
+
+    /**
+     * Checks UTF-8 encoded JSON, including its encoding, see {@link #validate(String)}. Returns byte offsets.
+     */
+    static int validate(byte[] json) {
+        return new Validator(new ByteSource(json, 0, json.length), true).validate();
+    }
+
+    /**
+     * Checks UTF-8 encoded JSON from the buffer's position to its limit, including its encoding, see
+     * {@link #validate(String)}. Returns byte offsets relative to the position, which is left untouched.
+     */
+    static int validate(ByteBuffer json) {
+        return new Validator(source(json), true).validate();
+    }
+
+    /**
+     * Writes a {@link WheelNode}, or a tree of maps, lists, strings, numbers, booleans and nulls, as JSON.
+     */
+    static String write(Object value) {
+        StringBuilder builder = new StringBuilder();
+        write(value, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the value as JSON to the builder, see {@link #write(Object)}.
+     */
+    static void write(Object value, StringBuilder builder) {
+        CharSerializer serializer = new CharSerializer(builder, CharSerializer.DEFAULT_BUFFER_SIZE);
+        serializer.value(value);
+        serializer.flush();
+    }
+
+    /**
+     * Writes the value as JSON to the writer, through a buffer of its own, see {@link #write(Object)}. Neither flushes
+     * nor closes the writer.
+     */
+    static void write(Object value, Writer writer) {
+        CharSerializer serializer = new CharSerializer(writer, CharSerializer.DEFAULT_BUFFER_SIZE);
+        serializer.value(value);
+        serializer.flush();
+    }
+
+    /**
+     * Writes the value as UTF-8 encoded JSON, see {@link #write(Object)}.
+     */
+    static byte[] writeBytes(Object value) {
+        ByteSerializer serializer = new ByteSerializer(null, ByteSerializer.DEFAULT_BUFFER_SIZE);
+        serializer.value(value);
+        return serializer.toByteArray();
+    }
+
+    /**
+     * Writes the value as UTF-8 encoded JSON to the stream, through a buffer of its own, see {@link #write(Object)}.
+     * Neither flushes nor closes the stream.
+     */
+    static void write(Object value, OutputStream out) {
+        ByteSerializer serializer = new ByteSerializer(out, ByteSerializer.DEFAULT_BUFFER_SIZE);
+        serializer.value(value);
+        serializer.flush();
+    }
+
+    /**
+     * Reports statistics about every document read from now on to the listener, or stops reporting if it's null. Covers
+     * {@link #read(String)}, {@link #read(String, Class)}, {@link Parser}s and {@link #readLines(Path)} with all their
+     * overloads. While there's no listener, nothing is counted.
+     */
+    static void setListener(Listener listener) {
+        JsonWheel.listener = listener;
+    }
+
+    /**
+     * Creates a parser for reading many documents one after the other, see {@link Parser}.
+     */
+    static Parser parser() {
+        return new Parser(Deserializer.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Reads JSON into an immutable snapshot, which can be shared across threads without copying or synchronizing it, and
+     * refreshed from the next version of the document, see {@link Snapshot}.
+     */
+    static Snapshot snapshot(String json) {
+        return new Snapshot(Snapshot.freeze(read(json).inner, null));
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON into an immutable snapshot, see {@link #snapshot(String)}.
+     */
+    static Snapshot snapshot(byte[] json) {
+        return new Snapshot(Snapshot.freeze(read(json).inner, null));
+    }
+
+    /**
+     * Extracts the values at the given paths in one pass, skipping over everything else without decoding it. Paths are
+     * made up of keys, array indices and wildcards, e.g. {@code $.data.items[*].id} or {@code data.items[0]}. Returns
+     * all matches per path, in document order.
+     */
+    static Map<String, List<WheelNode>> extract(String json, String... paths) {
+        return new Deserializer(new CharSource(json.toCharArray())).extract(paths);
+    }
+
+    /**
+     * Extracts values from UTF-8 encoded JSON, see {@link #extract(String, String...)}.
+     */
+    static Map<String, List<WheelNode>> extract(byte[] json, String... paths) {
+        return new Deserializer(new ByteSource(json, 0, json.length)).extract(paths);
+    }
+
+    /**
+     * Extracts values from UTF-8 encoded JSON from the buffer's position to its limit, see
+     * {@link #extract(String, String...)}.
+     */
+    static Map<String, List<WheelNode>> extract(ByteBuffer json, String... paths) {
+        return new Deserializer(source(json)).extract(paths);
+    }
+
+    /**
+     * Extracts values from a file of UTF-8 encoded JSON by mapping it into memory, see
+     * {@link #extract(String, String...)} and {@link #read(Path)}.
+     */
+    static Map<String, List<WheelNode>> extract(Path file, String... paths) {
+        return new Deserializer(source(map(file))).extract(paths);
+    }
+
+    /**
+     * Maps the whole file read-only. Positions within a document are ints, which is why it must not exceed 2 GB.
+     */
+    private static ByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new JsonWheelException("Cannot read " + file + " of " + size + " bytes, which is more than " + Integer.MAX_VALUE);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Source source(ByteBuffer json) {
+        return json.hasArray()
+                ? new ByteSource(json.array(), json.arrayOffset() + json.position(), json.remaining())
+                : new BufferSource(json.slice());
     }
 
     static class JsonWheelException extends RuntimeException {
@@ -49,209 +520,4637 @@ class JsonWheel {
         <T> T val(Class<T> clazz) {
             return inner == null ? null : clazz.cast(inner);
         }
-    }
 
-    static class Deserializer {
-        private static final List<Character> NUMBER_CHARS = Arrays.asList('+', '-', '.', 'e', 'E');
-        private static final Map<Character, Character> ESCAPE_LOOKUP = new HashMap<>();
-
-        static {
-            ESCAPE_LOOKUP.put('n', '\n');
-            ESCAPE_LOOKUP.put('b', '\b');
-            ESCAPE_LOOKUP.put('t', '\t');
-            ESCAPE_LOOKUP.put('f', '\f');
-            ESCAPE_LOOKUP.put('r', '\r');
-            ESCAPE_LOOKUP.put('/', '/');
-            ESCAPE_LOOKUP.put('\\', '\\');
-            ESCAPE_LOOKUP.put('"', '"');
+        /**
+         * Returns the string's characters. Depending on the node, a view into the source rather than a copy, see
+         * {@link SourceView}.
+         */
+        CharSequence text() {
+            return val(String.class);
         }
 
-        private final char[] chars;
+        /**
+         * Returns a copy of the array's elements, without boxing them if they are all ints. Fails for elements of any
+         * other type.
+         */
+        int[] asIntArray() {
+            List<?> list = val(List.class);
+            if (list instanceof IntList) {
+                return ((IntList) list).values.clone();
+            }
+            int[] ints = new int[list.size()];
+            for (int i = 0; i < ints.length; i++) {
+                ints[i] = element(list, i, Integer.class);
+            }
+            return ints;
+        }
 
-        Deserializer(char[] chars) {
-            this.chars = chars;
+        /**
+         * Returns a copy of the array's elements, without boxing them if they are all longs. Fails for elements of any
+         * other type.
+         */
+        long[] asLongArray() {
+            List<?> list = val(List.class);
+            if (list instanceof LongList) {
+                return ((LongList) list).values.clone();
+            }
+            if (list instanceof IntList) {
+                int[] ints = ((IntList) list).values;
+                long[] longs = new long[ints.length];
+                for (int i = 0; i < ints.length; i++) {
+                    longs[i] = ints[i];
+                }
+                return longs;
+            }
+            long[] longs = new long[list.size()];
+            for (int i = 0; i < longs.length; i++) {
+                Object element = list.get(i);
+                longs[i] = element instanceof Integer ? (Integer) element : element(list, i, Long.class);
+            }
+            return longs;
         }
 
-        WheelNode readInternal() {
-            WheelNode wheelNode = new WheelNode();
-            readValue(o -> wheelNode.setInner(o), 0);
-            return wheelNode;
+        /**
+         * Returns a copy of the array's elements, without boxing them if they are all decimals. Integers are converted,
+         * elements of any other type fail.
+         */
+        double[] asDoubleArray() {
+            List<?> list = val(List.class);
+            if (list instanceof DoubleList) {
+                return ((DoubleList) list).values.clone();
+            }
+            double[] doubles = new double[list.size()];
+            for (int i = 0; i < doubles.length; i++) {
+                Object element = list.get(i);
+                if (element instanceof Integer || element instanceof Long) {
+                    doubles[i] = ((Number) element).doubleValue();
+                }
+                else {
+                    doubles[i] = element(list, i, Double.class);
+                }
+            }
+            return doubles;
         }
 
-        private int readValue(Consumer<Object> valueConsumer, int from) {
-            switch (chars[from]) {
-                case '{':
-                    Map<String, Object> map = new HashMap<>();
-                    valueConsumer.accept(map);
-                    return readObjectValue(map, from);
-                case '[':
-                    List<Object> list = new ArrayList<>();
-                    valueConsumer.accept(list);
-                    return readArrayValue(list, from);
-                case '"':
-                    int closingQuote = next('"', from + 1);
-                    valueConsumer.accept(parseString(from + 1, closingQuote - 1));
-                    return closingQuote;
-                case 'n':
-                    int nullEnd = readLiteral(from, "null");
-                    valueConsumer.accept(null);
-                    return nullEnd;
-                case 't':
-                    int trueEnd = readLiteral(from, "true");
-                    valueConsumer.accept(true);
-                    return trueEnd;
-                case 'f':
-                    int falseEnd = readLiteral(from, "false");
-                    valueConsumer.accept(false);
-                    return falseEnd;
-                default:
-                    int numberEnd = readNumber(from);
-                    valueConsumer.accept(parseNumber(from, numberEnd));
-                    return numberEnd;
+        private static <T> T element(List<?> list, int i, Class<T> clazz) {
+            Object element = list.get(i);
+            if (!clazz.isInstance(element)) {
+                throw new JsonWheelException("Element " + i + " is not of type " + clazz.getSimpleName() + ": " + element);
             }
+            return clazz.cast(element);
         }
+    }
 
-        private int readObjectValue(Map<String, Object> map, int from) {
-            int next = next(from + 1);
+    /**
+     * Array of ints, boxed only when accessed through the {@link List} interface.
+     */
+    static class IntList extends AbstractList<Object> implements RandomAccess {
+        final int[] values;
 
-            // Check if empty object literal.
-            if (chars[next] == '}') {
-                return next;
+        IntList(long[] values, int size) {
+            this.values = new int[size];
+            for (int i = 0; i < size; i++) {
+                this.values[i] = (int) values[i];
             }
+        }
 
-            // Consume object literal's fields.
-            int delim = from;
-            do {
-                int keyStart = next('"', delim) + 1;
-                int keyEnd = next('"', keyStart) - 1;
-                String key = parseString(keyStart, keyEnd);
-                int colon = next(':', keyEnd);
-                int valueStart = next(colon + 1);
-                int valueEnd = readValue(v -> map.put(key, v), valueStart);
-                delim = next(valueEnd + 1);
-            } while (chars[delim] == ',');
+        @Override
+        public Object get(int index) {
+            return values[index];
+        }
 
-            return delim;
+        @Override
+        public int size() {
+            return values.length;
         }
+    }
 
-        private int readArrayValue(List<Object> list, int from) {
-            int next = next(from + 1);
+    /**
+     * Array of longs, boxed only when accessed through the {@link List} interface. Values fitting into an int are boxed
+     * as an Integer, just like outside of such arrays.
+     */
+    static class LongList extends AbstractList<Object> implements RandomAccess {
+        final long[] values;
 
-            // Check if empty array literal.
-            if (chars[next] == ']') {
-                return next;
+        LongList(long[] values, int size) {
+            this.values = values.length == size ? values : Arrays.copyOf(values, size);
+        }
+
+        @Override
+        public Object get(int index) {
+            long value = values[index];
+            if (value == (int) value) {
+                return (int) value;
             }
+            return value;
+        }
 
-            // Consume array literal's fields.
-            int delim = from;
-            do {
-                int valueEnd = readValue(v -> list.add(v), next(delim + 1));
-                delim = next(valueEnd + 1);
-            } while (chars[delim] == ',');
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
 
-            return delim;
+    /**
+     * Array of doubles, boxed only when accessed through the {@link List} interface.
+     */
+    static class DoubleList extends AbstractList<Object> implements RandomAccess {
+        final double[] values;
+
+        DoubleList(double[] values, int size) {
+            this.values = values.length == size ? values : Arrays.copyOf(values, size);
         }
 
-        private int readNumber(int from) {
-            while (from < chars.length && (Character.isDigit(chars[from]) || NUMBER_CHARS.contains(chars[from]))) {
-                from++;
-            }
-            return from - 1;
+        @Override
+        public Object get(int index) {
+            return values[index];
         }
 
-        private int readLiteral(int from, String expected) {
-            int to = from;
-            while (to < chars.length && Character.isLetter(chars[to])) {
-                to++;
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * Insertion-ordered map keeping keys and values next to each other in a single array. Small maps, which most JSON
+     * objects are, are searched linearly. Larger ones get an open-addressing hash index on top.
+     */
+    static class FlatMap extends AbstractMap<String, Object> {
+        private static final int MAX_LINEAR = 8;
+
+        private Object[] entries = new Object[8]; // Key, value, key, value, ...
+        private int size;
+        private int[] index; // Per slot, the entry's position plus one, or zero if empty.
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int i = find(key);
+            return i < 0 ? null : entries[2 * i + 1];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            int i = find(key);
+            if (i >= 0) {
+                Object previous = entries[2 * i + 1];
+                entries[2 * i + 1] = value;
+                return previous;
             }
-            String literal = new String(Arrays.copyOfRange(chars, from, to));
-            if (!literal.equals(expected)) {
-                throw new JsonWheelException("Invalid literal '" + literal + "' at " + from);
+            if (2 * size == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
             }
-            return to - 1;
+            entries[2 * size] = key;
+            entries[2 * size + 1] = value;
+            size++;
+            if (index != null && 2 * size <= index.length) {
+                addToIndex(size - 1);
+            }
+            else if (size > MAX_LINEAR) {
+                rebuildIndex();
+            }
+            return null;
         }
 
-        private int next(char c, int from) {
-            char prev = '\0';
-            boolean isEscaped = false;
-            for (; from < chars.length; from++) {
-                isEscaped = prev == '\\' && !isEscaped; // This handles strings like "\\".
-                char current = chars[from];
-                if (!isEscaped && c == current) {
-                    return from;
+        @Override
+        public Object remove(Object key) {
+            int i = find(key);
+            return i < 0 ? null : removeAt(i);
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(entries, 0, 2 * size, null);
+            size = 0;
+            index = null;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
                 }
-                prev = current;
+            };
+        }
+
+        /**
+         * Same as {@link AbstractMap#hashCode()}, without creating entries.
+         */
+        @Override
+        public int hashCode() {
+            int hash = 0;
+            for (int i = 0; i < size; i++) {
+                Object value = entries[2 * i + 1];
+                hash += entries[2 * i].hashCode() ^ (value == null ? 0 : value.hashCode());
             }
-            throw new JsonWheelException("Could not find " + c + ", checking from " + from);
+            return hash;
         }
 
-        private int next(int from) {
-            for (; from < chars.length; from++) {
-                if (!Character.isWhitespace(chars[from])) {
-                    return from;
+        /**
+         * Same as {@link AbstractMap#equals(Object)}, without creating entries if the other map is a FlatMap, too.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FlatMap)) {
+                return super.equals(o);
+            }
+            FlatMap other = (FlatMap) o;
+            if (other.size != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                int j = other.find(entries[2 * i]);
+                Object value = entries[2 * i + 1];
+                Object otherValue = j < 0 ? null : other.entries[2 * j + 1];
+                if (j < 0 || value != otherValue && (value == null || !value.equals(otherValue))) {
+                    return false;
                 }
             }
-            throw new JsonWheelException("Could not find non-whitespace, checking from " + from);
+            return true;
         }
 
-        private Number parseNumber(int from, int to) {
-            String n = new String(Arrays.copyOfRange(chars, from, to + 1));
-            try {
-                if (n.contains(".") || n.toLowerCase().contains("e")) {
-                    BigDecimal bd = new BigDecimal(n);
-                    double dv = bd.doubleValue();
-                    if (dv != Double.POSITIVE_INFINITY && dv != Double.NEGATIVE_INFINITY && bd.compareTo(BigDecimal.valueOf(dv)) == 0) { // n within 64 bit precision?
-                        return Double.parseDouble(n);
+        private int find(Object key) {
+            if (key == null) {
+                return -1;
+            }
+            if (index == null) {
+                for (int i = 0; i < size; i++) {
+                    Object candidate = entries[2 * i];
+                    if (candidate == key || candidate.equals(key)) {
+                        return i;
                     }
-                    return bd; // Use arbitrary precision
                 }
-                BigInteger bi = new BigInteger(n);
-                if (bi.compareTo(BigInteger.valueOf(bi.intValue())) == 0) { // n within 32 bit precision?
-                    return Integer.parseInt(n);
+                return -1;
+            }
+            int mask = index.length - 1;
+            for (int slot = spread(key.hashCode()) & mask;; slot = (slot + 1) & mask) {
+                int i = index[slot] - 1;
+                if (i < 0) {
+                    return -1;
                 }
-                if (bi.compareTo(BigInteger.valueOf(bi.longValue())) == 0) { // n within 64 bit precision?
-                    return Long.parseLong(n);
+                Object candidate = entries[2 * i];
+                if (candidate == key || candidate.equals(key)) {
+                    return i;
                 }
-                return bi; // Use arbitrary precision
             }
-            catch (NumberFormatException nfe) {
-                throw new JsonWheelException("Invalid number literal " + n + " at " + from + ": " + nfe.getMessage());
+        }
+
+        private Object removeAt(int i) {
+            Object previous = entries[2 * i + 1];
+            System.arraycopy(entries, 2 * i + 2, entries, 2 * i, 2 * (size - i - 1));
+            size--;
+            entries[2 * size] = null;
+            entries[2 * size + 1] = null;
+            if (index != null) {
+                rebuildIndex();
             }
+            return previous;
         }
 
-        private String parseString(int from, int to) {
-            if (from < 0 || to >= chars.length) {
-                throw new JsonWheelException("Out of bounds building String from " + from + " to " + to);
+        private void rebuildIndex() {
+            if (size <= MAX_LINEAR) {
+                index = null;
+                return;
             }
-            StringBuilder builder = new StringBuilder();
-            while (from <= to) {
-                if (chars[from] == '\\' && from + 1 <= to) {
-                    from++; // Skip backslash. Then check
-                    // a) codepoint in u-syntax, or ...
-                    if (chars[from] == 'u') {
-                        int cpStart = from + 1; // Skip "u".
-                        int cpEnd = cpStart + 3;
-                        if (cpEnd > to) {
-                            throw new JsonWheelException("Invalid codepoint at " + from);
-                        }
-                        builder.appendCodePoint(Integer.parseInt(new String(Arrays.copyOfRange(chars, cpStart, cpEnd + 1)), 16));
-                        from = cpEnd;
-                    }
-                    // b) other escaped characters for which we can use the lookup table.
-                    else {
-                        Character escapeLookup = ESCAPE_LOOKUP.get(chars[from]);
-                        if (escapeLookup == null) {
-                            throw new JsonWheelException("Invalid escape sequence at " + from + ": " + chars[from]);
-                        }
-                        builder.append(escapeLookup);
+            index = new int[Integer.highestOneBit(4 * size - 1) << 1]; // At most half full after doubling the size.
+            for (int i = 0; i < size; i++) {
+                addToIndex(i);
+            }
+        }
+
+        private void addToIndex(int i) {
+            int mask = index.length - 1;
+            int slot = spread(entries[2 * i].hashCode()) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private class EntryIterator implements Iterator<Entry<String, Object>> {
+            private int next;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                int i = last = next++;
+                return new SimpleEntry<String, Object>((String) entries[2 * i], entries[2 * i + 1]) {
+                    @Override
+                    public Object setValue(Object value) {
+                        entries[2 * i + 1] = value;
+                        return super.setValue(value);
                     }
+                };
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
                 }
-                else {
-                    builder.append(chars[from]);
+                removeAt(last);
+                next = last;
+                last = -1;
+            }
+        }
+    }
+
+    /**
+     * A node over a {@link Tape}, decoding its value only when accessed. Not thread-safe: all nodes over the same tape
+     * share its deserializer's frames and buffers, and decoding a value changes them.
+     */
+    static class LazyNode extends WheelNode {
+        private final Deserializer deserializer;
+        private final Tape tape;
+        private final int index;
+        private boolean materialized;
+
+        LazyNode(Deserializer deserializer, Tape tape, int index) {
+            this.deserializer = deserializer;
+            this.tape = tape;
+            this.index = index;
+        }
+
+        @Override
+        List<WheelNode> elements() {
+            if (deserializer.source.at(tape.start(index)) != '[') {
+                throw new JsonWheelException("Not an array at " + tape.start(index));
+            }
+            List<WheelNode> list = new ArrayList<>();
+            for (int i = index + 1; i < tape.next(index); i = tape.next(i)) {
+                list.add(new LazyNode(deserializer, tape, i));
+            }
+            return list;
+        }
+
+        @Override
+        WheelNode get(String key) {
+            if (deserializer.source.at(tape.start(index)) != '{') {
+                throw new JsonWheelException("Not an object at " + tape.start(index));
+            }
+            int match = -1;
+            // Keys and values alternate. Keep looking after a match because, just like a map, the last duplicate wins.
+            for (int i = index + 1; i < tape.next(index); i = tape.next(i + 1)) {
+                if (deserializer.keyEquals(tape.start(i), key)) {
+                    match = i + 1;
                 }
-                from++;
             }
-            return builder.toString();
+            return match == -1 ? new WheelNode() : new LazyNode(deserializer, tape, match);
+        }
+
+        @Override
+        <T> T val(Class<T> clazz) {
+            if (!materialized) {
+                setInner(deserializer.readValue(tape.start(index)));
+                materialized = true;
+            }
+            return super.val(clazz);
+        }
+
+        @Override
+        CharSequence text() {
+            int start = tape.start(index);
+            if (materialized || deserializer.source.at(start) != '"') {
+                return super.text();
+            }
+            return Deserializer.parseText(deserializer.source, start + 1, deserializer.next('"', start + 1) - 1);
+        }
+    }
+
+    /**
+     * A node of a {@link Snapshot}, handing out only nodes like itself.
+     */
+    static class FrozenNode extends WheelNode {
+
+        FrozenNode(Object inner) {
+            setInner(inner);
+        }
+
+        @Override
+        List<WheelNode> elements() {
+            List<WheelNode> list = new ArrayList<>();
+            for (Object o : ((List<Object>) inner)) {
+                list.add(new FrozenNode(o));
+            }
+            return list;
+        }
+
+        @Override
+        WheelNode get(String key) {
+            return new FrozenNode(((Map<String, Object>) inner).get(key));
+        }
+    }
+
+    /**
+     * An immutable tree of {@link FrozenMap}s, {@link FrozenList}s, arrays of numbers and scalars. As all of these are
+     * only reachable through final fields, a snapshot may be shared across threads, even without publishing it safely.
+     * Refreshing it from the next version of the document reuses all of its subtrees which are still the same, so that
+     * the old and the new snapshot only take up the heap for what changed between them.
+     */
+    static final class Snapshot {
+        private final Object root;
+
+        Snapshot(Object root) {
+            this.root = root;
+        }
+
+        WheelNode root() {
+            return new FrozenNode(root);
+        }
+
+        /**
+         * Reads the next version of the document, reusing this snapshot's subtrees wherever they're unchanged.
+         */
+        Snapshot refresh(String json) {
+            return new Snapshot(freeze(read(json).inner, root));
+        }
+
+        /**
+         * Reads the next version of the UTF-8 encoded document, see {@link #refresh(String)}.
+         */
+        Snapshot refresh(byte[] json) {
+            return new Snapshot(freeze(read(json).inner, root));
+        }
+
+        /**
+         * Returns the paths, e.g. {@code $.flags[2].enabled}, of all values which were added, removed or changed since
+         * the previous snapshot, in document order. Arrays whose length changed are reported as a whole. Only compares
+         * subtrees which weren't reused by {@link #refresh(String)}.
+         */
+        List<String> diff(Snapshot previous) {
+            List<String> paths = new ArrayList<>();
+            diff("$", previous.root, root, paths);
+            return paths;
+        }
+
+        private static void diff(String path, Object before, Object after, List<String> paths) {
+            if (before == after) { // Reused, so unchanged.
+                return;
+            }
+            if (before instanceof FrozenMap && after instanceof FrozenMap) {
+                Map<String, Object> old = (FrozenMap) before;
+                for (Map.Entry<String, Object> entry : ((FrozenMap) after).entrySet()) {
+                    String child = path + "." + entry.getKey();
+                    if (old.containsKey(entry.getKey())) {
+                        diff(child, old.get(entry.getKey()), entry.getValue(), paths);
+                    }
+                    else {
+                        paths.add(child);
+                    }
+                }
+                for (String key : old.keySet()) {
+                    if (!((FrozenMap) after).containsKey(key)) {
+                        paths.add(path + "." + key);
+                    }
+                }
+            }
+            else if (before instanceof List && after instanceof List && ((List<?>) before).size() == ((List<?>) after).size()) {
+                for (int i = 0; i < ((List<?>) after).size(); i++) {
+                    diff(path + "[" + i + "]", ((List<?>) before).get(i), ((List<?>) after).get(i), paths);
+                }
+            }
+            else if (before == null || !before.equals(after)) {
+                paths.add(path);
+            }
+        }
+
+        /**
+         * Makes the freshly read tree immutable, bottom-up, replacing every subtree equal to its counterpart in the
+         * previous tree by that counterpart. Counterparts are found by key, by index, or, for objects and arrays that
+         * moved within an array, by content. As children are replaced first, comparing a parent mostly comes down to
+         * comparing its content hash and then its children by identity.
+         */
+        static Object freeze(Object value, Object previous) {
+            if (value instanceof FlatMap) {
+                FlatMap map = (FlatMap) value;
+                Map<String, Object> before = previous instanceof FrozenMap ? (FrozenMap) previous : null;
+                for (Map.Entry<String, Object> entry : map.entrySet()) {
+                    entry.setValue(freeze(entry.getValue(), before != null ? before.get(entry.getKey()) : null));
+                }
+                return reuse(new FrozenMap(map), previous);
+            }
+            if (value instanceof IntList && previous instanceof IntList) {
+                return Arrays.equals(((IntList) value).values, ((IntList) previous).values) ? previous : value;
+            }
+            if (value instanceof LongList && previous instanceof LongList) {
+                return Arrays.equals(((LongList) value).values, ((LongList) previous).values) ? previous : value;
+            }
+            if (value instanceof DoubleList && previous instanceof DoubleList) {
+                return Arrays.equals(((DoubleList) value).values, ((DoubleList) previous).values) ? previous : value;
+            }
+            if (value instanceof ArrayList) {
+                List<?> list = (List<?>) value;
+                List<?> before = previous instanceof FrozenList ? (FrozenList) previous : null;
+                Map<Object, Object> moved = null; // The previous elements by content, once needed.
+                Object[] elements = new Object[list.size()];
+                for (int i = 0; i < elements.length; i++) {
+                    Object counterpart = before != null && i < before.size() ? before.get(i) : null;
+                    Object element = freeze(list.get(i), counterpart);
+                    if (before != null && element != counterpart && (element instanceof FrozenMap || element instanceof FrozenList)) {
+                        if (moved == null) {
+                            moved = new HashMap<>();
+                            for (Object o : before) {
+                                moved.put(o, o);
+                            }
+                        }
+                        Object match = moved.get(element);
+                        element = match != null ? match : element;
+                    }
+                    elements[i] = element;
+                }
+                return reuse(new FrozenList(elements), previous);
+            }
+            return value != null && value.equals(previous) ? previous : value;
+        }
+
+        private static Object reuse(Object frozen, Object previous) {
+            return frozen.equals(previous) ? previous : frozen;
+        }
+    }
+
+    /**
+     * Read-only view of a {@link FlatMap} no one else holds on to, with its content hash computed upfront.
+     */
+    static final class FrozenMap extends AbstractMap<String, Object> {
+        private final FlatMap map;
+        private final int hash;
+
+        FrozenMap(FlatMap map) {
+            this.map = map;
+            this.hash = map.hashCode();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public Object get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    Iterator<Entry<String, Object>> entries = map.entrySet().iterator();
+                    return new Iterator<Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            return new SimpleImmutableEntry<>(entries.next());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof FrozenMap) {
+                return o == this || ((FrozenMap) o).hash == hash && map.equals(((FrozenMap) o).map);
+            }
+            return super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Read-only list with its content hash computed upfront.
+     */
+    static final class FrozenList extends AbstractList<Object> implements RandomAccess {
+        private final Object[] elements;
+        private final int hash;
+
+        FrozenList(Object[] elements) {
+            this.elements = elements;
+            this.hash = Arrays.hashCode(elements); // Same as List.hashCode().
+        }
+
+        @Override
+        public Object get(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this || !(o instanceof FrozenList && ((FrozenList) o).hash != hash) && super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Structural index of a document: for every value, and every object key, its start offset and the index of the
+     * entry following it, i.e. the one after all of a container's children.
+     */
+    static class Tape {
+        private int[] entries = new int[64];
+        private int size;
+
+        int add(int start) {
+            if (2 * size + 1 >= entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[2 * size] = start;
+            return size++;
+        }
+
+        void close(int index) {
+            entries[2 * index + 1] = size;
+        }
+
+        int start(int index) {
+            return entries[2 * index];
+        }
+
+        int next(int index) {
+            return entries[2 * index + 1];
+        }
+    }
+
+    /**
+     * An object or array the {@link Deserializer} is still reading. Frames are reused from one object or array to the
+     * next, and so are the buffers numbers are packed into.
+     */
+    static class Frame {
+        /**
+         * Stands in for a number packed into the frame rather than read as a value.
+         */
+        static final Object PACKED = new Object();
+
+        /**
+         * Stands in for a value skipped rather than read.
+         */
+        static final Object SKIPPED = new Object();
+
+        Map<String, Object> map; // Only set for an object.
+        String key; // The key of the object's value being read.
+        private List<Object> list; // Only set for an array once its elements can't all be packed.
+        private int packed = Deserializer.NOT_SIMPLE; // What kind of numbers have been packed so far, if any.
+        private long[] integers;
+        private double[] decimals;
+        private int size;
+        private boolean allInts = true;
+
+        /**
+         * Resets the frame for the next object or array, also if reading the last one failed halfway.
+         */
+        void open(boolean object) {
+            map = object ? new FlatMap() : null;
+            key = null;
+            list = null;
+            packed = Deserializer.NOT_SIMPLE;
+            size = 0;
+            allInts = true;
+        }
+
+        /**
+         * Whether the frame is an array whose elements have all been packed so far.
+         */
+        boolean packs() {
+            return map == null && list == null;
+        }
+
+        /**
+         * Packs the next element, if it is a number of the same kind as all the others so far.
+         */
+        boolean pack(int kind, long integer, double decimal) {
+            if (kind == Deserializer.NOT_SIMPLE || packed != Deserializer.NOT_SIMPLE && packed != kind) {
+                return false;
+            }
+            packed = kind;
+            if (kind == Deserializer.SIMPLE_INTEGER) {
+                if (integers == null) {
+                    integers = new long[8];
+                }
+                else if (size == integers.length) {
+                    integers = Arrays.copyOf(integers, size * 2);
+                }
+                integers[size++] = integer;
+                allInts &= integer == (int) integer;
+            }
+            else {
+                if (decimals == null) {
+                    decimals = new double[8];
+                }
+                else if (size == decimals.length) {
+                    decimals = Arrays.copyOf(decimals, size * 2);
+                }
+                decimals[size++] = decimal;
+            }
+            return true;
+        }
+
+        void add(Object value) {
+            if (map != null) {
+                map.put(key, value);
+                return;
+            }
+            if (list == null) { // Fall back to boxing all elements.
+                list = new ArrayList<>();
+                if (packed == Deserializer.SIMPLE_INTEGER) {
+                    list.addAll(new LongList(integers, size));
+                }
+                else if (packed == Deserializer.SIMPLE_DECIMAL) {
+                    list.addAll(new DoubleList(decimals, size));
+                }
+            }
+            list.add(value);
+        }
+
+        /**
+         * Returns the object or array read, no longer referencing it from the frame.
+         */
+        Object close() {
+            Object value;
+            if (map != null) {
+                value = map;
+            }
+            else if (list != null) {
+                value = list;
+            }
+            else if (packed == Deserializer.SIMPLE_INTEGER) {
+                // Copy, since the buffer is going to be reused.
+                value = allInts ? new IntList(integers, size) : new LongList(Arrays.copyOf(integers, size), size);
+            }
+            else {
+                value = new DoubleList(Arrays.copyOf(decimals, size), size);
+            }
+            map = null;
+            key = null;
+            list = null;
+            return value;
+        }
+    }
+
+    static class Deserializer {
+        static final int DEFAULT_MAX_DEPTH = 1024;
+        private static final Object ANY = new Object();
+        private static final int NOT_SIMPLE = 0;
+        private static final int SIMPLE_INTEGER = 1;
+        private static final int SIMPLE_DECIMAL = 2;
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+
+        Source source;
+        private final SymbolTable symbols;
+        private final StringBuilder builder = new StringBuilder(); // Decodes strings with escape sequences.
+        private final int maxDepth;
+        private Frame[] frames = new Frame[16]; // Objects and arrays being read, innermost last.
+        private int[] open = new int[16]; // Tape indices of the objects and arrays being indexed, innermost last.
+        private int end; // Where the value read last ends.
+        private long simpleInteger;
+        private double simpleDecimal;
+        private ReadStats stats; // Null unless there's a listener.
+        private Set<String> keys; // Keys of the top-level object to read, or null for all of them.
+
+        Deserializer(Source source) {
+            this(source, null, DEFAULT_MAX_DEPTH);
+        }
+
+        Deserializer(Source source, SymbolTable symbols) {
+            this(source, symbols, DEFAULT_MAX_DEPTH);
+        }
+
+        /**
+         * Creates a deserializer failing for objects and arrays nested deeper than {@code maxDepth}. Without a symbol
+         * table, keys are resolved through {@link SymbolTable#SHARED}.
+         */
+        Deserializer(Source source, SymbolTable symbols, int maxDepth) {
+            this.source = source;
+            this.symbols = symbols != null ? symbols : SymbolTable.SHARED;
+            this.maxDepth = maxDepth;
+        }
+
+        /**
+         * Switches to the next source, keeping the stack, buffers and symbol table.
+         */
+        Deserializer reset(Source source) {
+            this.source = source;
+            return this;
+        }
+
+        /**
+         * Skips all values of the top-level object but those of the given keys, see
+         * {@link JsonWheel#readKeys(String, String...)}.
+         */
+        Deserializer only(String... keys) {
+            this.keys = new HashSet<>(Arrays.asList(keys));
+            return this;
+        }
+
+        WheelNode readInternal() {
+            Listener listener = JsonWheel.listener;
+            stats = listener != null ? ReadStats.start(stats, source.length()) : null;
+            WheelNode node = new WheelNode().setInner(readValue(0));
+            if (listener != null) {
+                listener.onRead(stats.finish());
+            }
+            return node;
+        }
+
+        <T> T bind(Class<T> type) {
+            return (T) bind(Binding.of(type));
+        }
+
+        <T> T bind(ObjectReader<T> reader) {
+            return (T) bind((Binding) reader);
+        }
+
+        private Object bind(Binding binding) {
+            Listener listener = JsonWheel.listener;
+            stats = listener != null ? ReadStats.start(stats, source.length()) : null;
+            Object value = binding.read(this, next(0), 0);
+            if (listener != null) {
+                listener.onRead(stats.finish());
+            }
+            return value;
+        }
+
+        /**
+         * Reports the value at the start of the source to the handler, see {@link JsonWheel#parse(String, Handler)}. Keeps
+         * whether the objects and arrays still being read are objects on a stack, rather than recursing into them.
+         */
+        void parse(Handler handler) {
+            Listener listener = JsonWheel.listener;
+            stats = listener != null ? ReadStats.start(stats, source.length()) : null;
+            int depth = 0;
+            int pos = next(0);
+            while (true) {
+                char c = source.at(pos);
+                if (c == '{' || c == '[') {
+                    boolean object = c == '{';
+                    int next = next(pos + 1);
+                    boolean empty = source.at(next) == (object ? '}' : ']');
+                    if (!empty) {
+                        enter(depth, pos, object);
+                    }
+                    else if (stats != null) {
+                        stats.opened(depth, object);
+                    }
+                    if (object) {
+                        handler.startObject();
+                    }
+                    else {
+                        handler.startArray();
+                    }
+                    if (!empty) {
+                        if (depth == open.length) {
+                            open = Arrays.copyOf(open, depth * 2);
+                        }
+                        open[depth++] = c;
+                        pos = object ? parseKey(handler, pos) : next;
+                        continue;
+                    }
+                    if (object) {
+                        handler.endObject();
+                    }
+                    else {
+                        handler.endArray();
+                    }
+                    pos = next;
+                }
+                else {
+                    parseScalar(handler, pos);
+                    pos = end;
+                }
+                // Close all objects and arrays ending with the value.
+                while (true) {
+                    if (depth == 0) {
+                        end = pos;
+                        if (listener != null) {
+                            listener.onRead(stats.finish());
+                        }
+                        return;
+                    }
+                    boolean object = open[depth - 1] == '{';
+                    int delim = next(pos + 1);
+                    if (source.at(delim) == ',') {
+                        pos = object ? parseKey(handler, delim) : next(delim + 1);
+                        break;
+                    }
+                    if (object) {
+                        handler.endObject();
+                    }
+                    else {
+                        handler.endArray();
+                    }
+                    depth--;
+                    pos = delim;
+                }
+            }
+        }
+
+        /**
+         * Reports the key following the delimiter at {@code delim} to the handler and returns where its value starts.
+         */
+        private int parseKey(Handler handler, int delim) {
+            int keyStart = next('"', delim) + 1;
+            int keyEnd = next('"', keyStart) - 1;
+            handler.key(text(keyStart, keyEnd));
+            int colon = next(':', keyEnd + 1); // Skip closing quote.
+            return next(colon + 1);
+        }
+
+        /**
+         * Reports the string, literal or number starting at {@code from} to the handler. It ends at {@link #end}
+         * afterwards.
+         */
+        private void parseScalar(Handler handler, int from) {
+            switch (source.at(from)) {
+                case '"':
+                    if (stats != null) {
+                        stats.strings++;
+                    }
+                    end = next('"', from + 1);
+                    handler.onString(text(from + 1, end - 1));
+                    return;
+                case 'n':
+                    end = readLiteral(from, "null");
+                    handler.onNull();
+                    return;
+                case 't':
+                    end = readLiteral(from, "true");
+                    handler.onBoolean(true);
+                    return;
+                case 'f':
+                    end = readLiteral(from, "false");
+                    handler.onBoolean(false);
+                    return;
+                default:
+                    end = readNumber(from);
+                    int kind = parseSimpleNumber(from, end);
+                    if (kind == SIMPLE_INTEGER) {
+                        handler.onLong(simpleInteger);
+                        return;
+                    }
+                    if (kind == SIMPLE_DECIMAL) {
+                        handler.onDouble(simpleDecimal);
+                        return;
+                    }
+                    Number number = box(kind, from, end);
+                    if (number instanceof Integer || number instanceof Long) {
+                        handler.onLong(number.longValue());
+                    }
+                    else if (number instanceof Double) {
+                        handler.onDouble(number.doubleValue());
+                    }
+                    else {
+                        handler.onNumber(number);
+                    }
+            }
+        }
+
+        /**
+         * Decodes the string from {@code from} to {@code to}, inclusive, into {@link #builder}, which is returned and only
+         * valid until the next call.
+         */
+        private CharSequence text(int from, int to) {
+            builder.setLength(0);
+            decode(source, from, from, to, builder);
+            return builder;
+        }
+
+        /**
+         * Reads the elements of the top-level array following the delimiter at {@code delim}, i.e. the opening bracket
+         * or a comma, up to the first delimiter at or after {@code until}. Numbers are packed as {@link #readValue(int)}
+         * would pack them.
+         */
+        List<Object> readElements(int delim, int until) {
+            if (source.at(delim) == '[' && source.at(next(delim + 1)) == ']') { // Empty array literal.
+                return new ArrayList<>();
+            }
+            Frame frame = new Frame();
+            frame.open(false);
+            while (delim < until && source.at(delim) != ']') {
+                int pos = next(delim + 1);
+                if (frame.packs() && isNumberStart(source.at(pos))) {
+                    end = readNumber(pos);
+                    int kind = parseSimpleNumber(pos, end);
+                    if (!frame.pack(kind, simpleInteger, simpleDecimal)) {
+                        frame.add(box(kind, pos, end));
+                    }
+                }
+                else {
+                    frame.add(readValue(pos, 1));
+                }
+                delim = next(end + 1);
+            }
+            return (List<Object>) frame.close();
+        }
+
+        LazyNode readLazy() {
+            Tape tape = new Tape();
+            indexValue(tape, 0);
+            return new LazyNode(this, tape, 0);
+        }
+
+        /**
+         * Adds the value starting at {@code from} to the tape and returns where it ends. Keeps the tape indices of the
+         * objects and arrays still being indexed on a stack, rather than recursing into them.
+         */
+        private int indexValue(Tape tape, int from) {
+            int depth = 0;
+            int pos = from;
+            while (true) {
+                int index = tape.add(pos);
+                char c = source.at(pos);
+                if (c == '{' || c == '[') {
+                    int next = next(pos + 1);
+                    if (source.at(next) != (c == '{' ? '}' : ']')) {
+                        enter(depth, pos, c == '{');
+                        if (depth == open.length) {
+                            open = Arrays.copyOf(open, depth * 2);
+                        }
+                        open[depth++] = index;
+                        pos = c == '{' ? indexKey(tape, pos) : next;
+                        continue;
+                    }
+                    pos = next; // Empty object or array literal.
+                }
+                else {
+                    pos = skipValue(pos);
+                }
+                tape.close(index);
+                // Close all objects and arrays ending with the value.
+                while (true) {
+                    if (depth == 0) {
+                        return pos;
+                    }
+                    int container = open[depth - 1];
+                    int delim = next(pos + 1);
+                    if (source.at(delim) == ',') {
+                        pos = source.at(tape.start(container)) == '{' ? indexKey(tape, delim) : next(delim + 1);
+                        break;
+                    }
+                    tape.close(container);
+                    depth--;
+                    pos = delim;
+                }
+            }
+        }
+
+        /**
+         * Adds the key following the delimiter at {@code delim} to the tape and returns where its value starts.
+         */
+        private int indexKey(Tape tape, int delim) {
+            int keyStart = next('"', delim);
+            tape.close(tape.add(keyStart));
+            int keyEnd = next('"', keyStart + 1) - 1;
+            int colon = next(':', keyEnd + 1); // Skip closing quote.
+            return next(colon + 1);
+        }
+
+        /**
+         * Compares the key starting with the quote at the given position, decoding it only if needed.
+         */
+        boolean keyEquals(int quote, String key) {
+            int i = quote + 1;
+            for (int j = 0; j < key.length(); i++, j++) {
+                char c = source.at(i);
+                if (c == '\\' || c >= 0x80) { // Needs decoding first.
+                    return parseString(source, quote + 1, next('"', quote + 1) - 1).equals(key);
+                }
+                if (c != key.charAt(j)) {
+                    return false;
+                }
+            }
+            return source.at(i) == '"';
+        }
+
+        Map<String, List<WheelNode>> extract(String[] paths) {
+            if (paths.length > Long.SIZE) {
+                throw new JsonWheelException("Cannot extract more than " + Long.SIZE + " paths at once");
+            }
+            Object[][] segments = new Object[paths.length][];
+            List<List<WheelNode>> results = new ArrayList<>();
+            for (int p = 0; p < paths.length; p++) {
+                segments[p] = parsePath(paths[p]);
+                results.add(new ArrayList<>());
+            }
+            if (paths.length > 0) {
+                extractValue(segments, -1L >>> (Long.SIZE - paths.length), 0, results, 0);
+            }
+            Map<String, List<WheelNode>> extracted = new LinkedHashMap<>();
+            for (int p = 0; p < paths.length; p++) {
+                extracted.put(paths[p], results.get(p));
+            }
+            return extracted;
+        }
+
+        /**
+         * Splits a path into its segments: a String per key, an Integer per array index, and {@link #ANY} per wildcard.
+         */
+        static Object[] parsePath(String path) {
+            List<Object> segments = new ArrayList<>();
+            int i = path.startsWith("$") ? 1 : 0;
+            while (i < path.length()) {
+                char c = path.charAt(i);
+                if (c == '[') {
+                    int close = path.indexOf(']', i);
+                    if (close == -1) {
+                        throw new JsonWheelException("Unclosed [ in path " + path + " at " + i);
+                    }
+                    String index = path.substring(i + 1, close);
+                    try {
+                        segments.add(index.equals("*") ? ANY : Integer.valueOf(index));
+                    }
+                    catch (NumberFormatException nfe) {
+                        throw new JsonWheelException("Invalid index '" + index + "' in path " + path + " at " + i);
+                    }
+                    i = close + 1;
+                }
+                else {
+                    int start = c == '.' ? i + 1 : i;
+                    int end = start;
+                    while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                        end++;
+                    }
+                    if (end == start) {
+                        throw new JsonWheelException("Empty key in path " + path + " at " + i);
+                    }
+                    String key = path.substring(start, end);
+                    segments.add(key.equals("*") ? ANY : key);
+                    i = end;
+                }
+            }
+            return segments.toArray();
+        }
+
+        /**
+         * Extracts the value at the given position for every path whose bit is set in {@code active}. Those paths all
+         * match the document up to {@code depth} segments.
+         */
+        private int extractValue(Object[][] paths, long active, int depth, List<List<WheelNode>> results, int from) {
+            WheelNode match = null;
+            int end = -1;
+            long descending = 0;
+            for (long bits = active; bits != 0; bits &= bits - 1) {
+                int p = Long.numberOfTrailingZeros(bits);
+                if (paths[p].length == depth) {
+                    if (match == null) {
+                        match = new WheelNode().setInner(readValue(from));
+                        end = this.end;
+                    }
+                    results.get(p).add(match);
+                }
+                else {
+                    descending |= 1L << p;
+                }
+            }
+            if (descending == 0) {
+                return match != null ? end : skipValue(from);
+            }
+            switch (source.at(from)) {
+                case '{':
+                    return extractObjectValue(paths, descending, depth, results, from);
+                case '[':
+                    return extractArrayValue(paths, descending, depth, results, from);
+                default:
+                    return skipValue(from);
+            }
+        }
+
+        private int extractObjectValue(Object[][] paths, long active, int depth, List<List<WheelNode>> results, int from) {
+            int next = next(from + 1);
+
+            // Check if empty object literal.
+            if (source.at(next) == '}') {
+                return next;
+            }
+
+            // Consume object literal's fields, descending into those matching a path.
+            int delim = from;
+            do {
+                int keyStart = next('"', delim);
+                int keyEnd = next('"', keyStart + 1);
+                long matching = 0;
+                for (long bits = active; bits != 0; bits &= bits - 1) {
+                    int p = Long.numberOfTrailingZeros(bits);
+                    Object segment = paths[p][depth];
+                    if (segment == ANY || segment instanceof String && keyEquals(keyStart, (String) segment)) {
+                        matching |= 1L << p;
+                    }
+                }
+                int colon = next(':', keyEnd + 1);
+                int valueStart = next(colon + 1);
+                int valueEnd = matching == 0
+                        ? skipValue(valueStart)
+                        : extractValue(paths, matching, depth + 1, results, valueStart);
+                delim = next(valueEnd + 1);
+            } while (source.at(delim) == ',');
+
+            return delim;
+        }
+
+        private int extractArrayValue(Object[][] paths, long active, int depth, List<List<WheelNode>> results, int from) {
+            int next = next(from + 1);
+
+            // Check if empty array literal.
+            if (source.at(next) == ']') {
+                return next;
+            }
+
+            // Consume array literal's elements, descending into those matching a path.
+            int delim = from;
+            int index = 0;
+            do {
+                long matching = 0;
+                for (long bits = active; bits != 0; bits &= bits - 1) {
+                    int p = Long.numberOfTrailingZeros(bits);
+                    Object segment = paths[p][depth];
+                    if (segment == ANY || segment instanceof Integer && (Integer) segment == index) {
+                        matching |= 1L << p;
+                    }
+                }
+                int valueStart = next(delim + 1);
+                int valueEnd = matching == 0
+                        ? skipValue(valueStart)
+                        : extractValue(paths, matching, depth + 1, results, valueStart);
+                delim = next(valueEnd + 1);
+                index++;
+            } while (source.at(delim) == ',');
+
+            return delim;
+        }
+
+        /**
+         * Finds the end of the value at the given position without decoding anything. Containers are skipped by
+         * counting brackets outside of strings.
+         */
+        int skipValue(int from) {
+            switch (source.at(from)) {
+                case '{':
+                case '[':
+                    int nesting = 0;
+                    for (int i = from; i < source.length(); i++) {
+                        char c = source.at(i);
+                        if (c == '"') {
+                            i = next('"', i + 1);
+                        }
+                        else if (c == '{' || c == '[') {
+                            nesting++;
+                        }
+                        else if ((c == '}' || c == ']') && --nesting == 0) {
+                            return i;
+                        }
+                    }
+                    throw new JsonWheelException("Could not find end of value, checking from " + from);
+                case '"':
+                    return next('"', from + 1);
+                case 'n':
+                    return readLiteral(from, "null");
+                case 't':
+                    return readLiteral(from, "true");
+                case 'f':
+                    return readLiteral(from, "false");
+                default:
+                    return readNumber(from);
+            }
+        }
+
+        /**
+         * Reads the value starting at {@code from}, which ends at {@link #end} afterwards. Keeps the objects and arrays
+         * still being read on a stack of frames, rather than recursing into them.
+         */
+        Object readValue(int from) {
+            return readValue(from, 0);
+        }
+
+        /**
+         * Reads the value starting at {@code from} like {@link #readValue(int)}, as part of a document in which it's
+         * nested in {@code outer} objects and arrays already. These count towards {@link #maxDepth}, too.
+         */
+        Object readValue(int from, int outer) {
+            int depth = 0;
+            int pos = from;
+            while (true) {
+                Object value;
+                char c = source.at(pos);
+                Frame parent = depth > 0 ? frames[depth - 1] : null;
+                if (depth == 1 && keys != null && parent.map != null && !keys.contains(parent.key)) {
+                    value = Frame.SKIPPED;
+                    pos = skipValue(pos);
+                }
+                else if (c == '{' || c == '[') {
+                    int next = next(pos + 1);
+                    if (source.at(next) != (c == '{' ? '}' : ']')) {
+                        Frame frame = push(depth++, outer, c == '{', pos);
+                        pos = frame.map != null ? readKey(frame, pos) : next;
+                        continue;
+                    }
+                    value = c == '{' ? new FlatMap() : new ArrayList<>(); // Empty object or array literal.
+                    if (stats != null) {
+                        stats.opened(outer + depth, c == '{');
+                    }
+                    pos = next;
+                }
+                else if (parent != null && parent.packs() && isNumberStart(c)) {
+                    int numberEnd = readNumber(pos);
+                    int kind = parseSimpleNumber(pos, numberEnd);
+                    value = parent.pack(kind, simpleInteger, simpleDecimal) ? Frame.PACKED : box(kind, pos, numberEnd);
+                    pos = numberEnd;
+                }
+                else {
+                    value = readScalar(pos);
+                    pos = end;
+                }
+                // Add the value to the innermost object or array, and close all of those ending with it.
+                while (true) {
+                    if (depth == 0) {
+                        end = pos;
+                        return value;
+                    }
+                    Frame frame = frames[depth - 1];
+                    if (value != Frame.PACKED && value != Frame.SKIPPED) {
+                        frame.add(value);
+                    }
+                    int delim = next(pos + 1);
+                    if (source.at(delim) == ',') {
+                        pos = frame.map != null ? readKey(frame, delim) : next(delim + 1);
+                        break;
+                    }
+                    value = frame.close();
+                    depth--;
+                    pos = delim;
+                }
+            }
+        }
+
+        private Frame push(int depth, int outer, boolean object, int from) {
+            enter(outer + depth, from, object);
+            if (depth == frames.length) {
+                frames = Arrays.copyOf(frames, depth * 2);
+            }
+            Frame frame = frames[depth];
+            if (frame == null) {
+                frame = frames[depth] = new Frame();
+            }
+            frame.open(object);
+            return frame;
+        }
+
+        /**
+         * Fails if pushing an object or array onto a stack of depth {@code depth} would exceed {@link #maxDepth}.
+         */
+        void enter(int depth, int from, boolean object) {
+            if (depth >= maxDepth) {
+                throw new JsonWheelException("Nesting deeper than " + maxDepth + " at " + from);
+            }
+            if (stats != null) {
+                stats.opened(depth, object);
+            }
+        }
+
+        /**
+         * Reads the key following the delimiter at {@code delim} into the frame and returns where its value starts.
+         */
+        private int readKey(Frame frame, int delim) {
+            int keyStart = next('"', delim) + 1;
+            int keyEnd = next('"', keyStart) - 1;
+            frame.key = intern(keyStart, keyEnd);
+            int colon = next(':', keyEnd + 1); // Skip closing quote.
+            return next(colon + 1);
+        }
+
+        /**
+         * Resolves the key from {@code from} to {@code to}, inclusive, through the symbol table.
+         */
+        String intern(int from, int to) {
+            return symbols.intern(source, from, to);
+        }
+
+        /**
+         * Reads the string, literal or number starting at {@code from}, which ends at {@link #end} afterwards.
+         */
+        private Object readScalar(int from) {
+            switch (source.at(from)) {
+                case '"':
+                    if (stats != null) {
+                        stats.strings++;
+                    }
+                    end = next('"', from + 1);
+                    return parseString(source, from + 1, end - 1, builder);
+                case 'n':
+                    end = readLiteral(from, "null");
+                    return null;
+                case 't':
+                    end = readLiteral(from, "true");
+                    return true;
+                case 'f':
+                    end = readLiteral(from, "false");
+                    return false;
+                default:
+                    end = readNumber(from);
+                    return parseNumber(from, end);
+            }
+        }
+
+        private int readNumber(int from) {
+            while (from < source.length() && CharClasses.isNumber(source.at(from))) {
+                from++;
+            }
+            return from - 1;
+        }
+
+        private int readLiteral(int from, String expected) {
+            int to = from;
+            while (to < source.length() && CharClasses.isLetter(source.at(to))) {
+                to++;
+            }
+            boolean matches = to - from == expected.length();
+            for (int i = 0; matches && i < expected.length(); i++) {
+                matches = source.at(from + i) == expected.charAt(i);
+            }
+            if (!matches) {
+                throw new JsonWheelException("Invalid literal '" + source.string(from, to - 1) + "' at " + from);
+            }
+            return to - 1;
+        }
+
+        private int next(char c, int from) {
+            int start = from;
+            int last = source.length() - 1;
+            while ((from = source.indexOf(c, from, last)) >= 0) {
+                // Only look back for backslashes once there's a match. An odd number of them escapes it, as in "\"" vs. "\\".
+                int backslashes = 0;
+                while (from - backslashes > start && source.at(from - backslashes - 1) == '\\') {
+                    backslashes++;
+                }
+                if ((backslashes & 1) == 0) {
+                    return from;
+                }
+                from++;
+            }
+            throw new JsonWheelException("Could not find " + c + ", checking from " + start);
+        }
+
+        private int next(int from) {
+            for (int length = source.length(); from < length; from++) {
+                char c = source.at(from);
+                if (!CharClasses.isWhitespace(c)) {
+                    return from;
+                }
+            }
+            throw new JsonWheelException("Could not find non-whitespace, checking from " + from);
+        }
+
+        private static boolean isNumberStart(char c) {
+            return c != '{' && c != '[' && c != '"' && c != 'n' && c != 't' && c != 'f';
+        }
+
+        Number parseNumber(int from, int to) {
+            return box(parseSimpleNumber(from, to), from, to);
+        }
+
+        /**
+         * Boxes the number just parsed by {@link #parseSimpleNumber(int, int)}, which returned {@code kind}, or parses it
+         * exactly if it wasn't simple.
+         */
+        private Number box(int kind, int from, int to) {
+            switch (kind) {
+                case SIMPLE_INTEGER:
+                    if (simpleInteger == (int) simpleInteger) {
+                        return (int) simpleInteger;
+                    }
+                    return simpleInteger;
+                case SIMPLE_DECIMAL:
+                    return simpleDecimal;
+                default:
+                    Number number = parseNumberExactly(source, from, to);
+                    if (stats != null) {
+                        stats.exactly(number);
+                    }
+                    return number;
+            }
+        }
+
+        /**
+         * Parses integers fitting into a long, and decimals with up to 15 significant digits and a small enough exponent,
+         * without going through a String. A single multiplication or division by an exactly representable power of ten
+         * yields those decimals' nearest double. They deliberately always become a Double, unlike with the round trip
+         * check in {@link #parseNumberExactly}, which on JDKs before 19 returns a BigDecimal for some of them, e.g.
+         * {@code 8045183e13}, as their {@link Double#toString(double)} isn't always the shortest decimal form. Stores the
+         * result in {@link #simpleInteger} or {@link #simpleDecimal} respectively, and returns which one it is, or
+         * {@link #NOT_SIMPLE} for all other literals, including invalid ones.
+         */
+        private int parseSimpleNumber(int from, int to) {
+            if (stats != null) {
+                stats.numbers++;
+            }
+            int i = from;
+            boolean negative = source.at(i) == '-';
+            if (negative || source.at(i) == '+') {
+                i++;
+            }
+            long significand = 0; // Accumulated negatively, so that it can reach Long.MIN_VALUE.
+            int digits = 0; // Significant ones, i.e. not counting leading zeros.
+            int exponent = 0;
+            boolean anyDigit = false;
+            boolean point = false;
+            for (; i <= to; i++) {
+                char c = source.at(i);
+                if (CharClasses.isDigit(c)) {
+                    anyDigit = true;
+                    if (point) {
+                        exponent--;
+                    }
+                    if (significand == 0 && c == '0') {
+                        continue;
+                    }
+                    if (significand < Long.MIN_VALUE / 10 || significand * 10 < Long.MIN_VALUE + (c - '0')) {
+                        return NOT_SIMPLE;
+                    }
+                    significand = significand * 10 - (c - '0');
+                    digits++;
+                }
+                else if (c == '.' && !point) {
+                    point = true;
+                }
+                else {
+                    break;
+                }
+            }
+            if (!anyDigit) {
+                return NOT_SIMPLE;
+            }
+            boolean decimal = point;
+            if (i <= to) {
+                char c = source.at(i++);
+                if (c != 'e' && c != 'E' || i > to) {
+                    return NOT_SIMPLE;
+                }
+                boolean negativeExponent = source.at(i) == '-';
+                if (negativeExponent || source.at(i) == '+') {
+                    i++;
+                }
+                if (i > to) {
+                    return NOT_SIMPLE;
+                }
+                int e = 0;
+                for (; i <= to; i++) {
+                    c = source.at(i);
+                    if (c < '0' || c > '9' || e > 1000) {
+                        return NOT_SIMPLE;
+                    }
+                    e = e * 10 + (c - '0');
+                }
+                exponent += negativeExponent ? -e : e;
+                decimal = true;
+            }
+
+            if (!decimal) {
+                if (!negative) {
+                    if (significand == Long.MIN_VALUE) {
+                        return NOT_SIMPLE;
+                    }
+                    significand = -significand;
+                }
+                simpleInteger = significand;
+                return SIMPLE_INTEGER;
+            }
+
+            if (digits > 15) {
+                return NOT_SIMPLE;
+            }
+            double value = -significand;
+            if (significand == 0) {
+                value = 0d;
+            }
+            else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+                value *= POWERS_OF_TEN[exponent];
+            }
+            else if (exponent >= POWERS_OF_TEN.length && digits + exponent - (POWERS_OF_TEN.length - 1) <= 15) {
+                // Move as much of the exponent into the significand as it takes to make the power of ten exact.
+                value = (-significand * (long) POWERS_OF_TEN[exponent - (POWERS_OF_TEN.length - 1)]) * POWERS_OF_TEN[POWERS_OF_TEN.length - 1];
+            }
+            else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+                value /= POWERS_OF_TEN[-exponent];
+            }
+            else {
+                return NOT_SIMPLE;
+            }
+            simpleDecimal = negative ? -value : value;
+            return SIMPLE_DECIMAL;
+        }
+
+        private static Number parseNumberExactly(Source source, int from, int to) {
+            String n = source.string(from, to);
+            try {
+                if (n.indexOf('.') >= 0 || n.indexOf('e') >= 0 || n.indexOf('E') >= 0) {
+                    BigDecimal bd = new BigDecimal(n);
+                    double dv = bd.doubleValue();
+                    if (dv != Double.POSITIVE_INFINITY && dv != Double.NEGATIVE_INFINITY && bd.compareTo(BigDecimal.valueOf(dv)) == 0) { // n within 64 bit precision?
+                        return Double.parseDouble(n);
+                    }
+                    return bd; // Use arbitrary precision
+                }
+                BigInteger bi = new BigInteger(n);
+                if (bi.compareTo(BigInteger.valueOf(bi.intValue())) == 0) { // n within 32 bit precision?
+                    return Integer.parseInt(n);
+                }
+                if (bi.compareTo(BigInteger.valueOf(bi.longValue())) == 0) { // n within 64 bit precision?
+                    return Long.parseLong(n);
+                }
+                return bi; // Use arbitrary precision
+            }
+            catch (NumberFormatException nfe) {
+                throw new JsonWheelException("Invalid number literal " + n + " at " + from + ": " + nfe.getMessage());
+            }
+        }
+
+        static String parseString(Source source, int from, int to) {
+            return parseString(source, from, to, null);
+        }
+
+        /**
+         * Decodes the string from {@code from} to {@code to}, both inclusive, using {@code scratch}, if not null, for
+         * any escape sequences.
+         */
+        static String parseString(Source source, int from, int to, StringBuilder scratch) {
+            if (from < 0 || to >= source.length()) {
+                throw new JsonWheelException("Out of bounds building String from " + from + " to " + to);
+            }
+            int backslash = source.indexOf('\\', from, to - 1); // A trailing backslash is taken over verbatim.
+            // No escape sequences at all means we can skip the builder altogether.
+            if (backslash < 0) {
+                return source.string(from, to);
+            }
+            StringBuilder builder = scratch != null ? scratch : new StringBuilder(to - from + 1);
+            builder.setLength(0);
+            decode(source, from, backslash, to, builder);
+            return builder.toString();
+        }
+
+        /**
+         * Appends the string from {@code from} to {@code to}, inclusive, to the builder, decoding escape sequences. None of
+         * those start before {@code backslash}, which is -1 if there are none at all.
+         */
+        static void decode(Source source, int from, int backslash, int to, StringBuilder builder) {
+            int run = from; // Start of the current run of characters which can be taken over verbatim.
+            from = backslash;
+            while (from >= 0 && from <= to) {
+                from = source.indexOf('\\', from, to - 1); // A trailing backslash is taken over verbatim.
+                if (from < 0) {
+                    break;
+                }
+                source.append(builder, run, from - 1);
+                from++; // Skip backslash. Then check
+                // a) codepoint in u-syntax, or ...
+                if (source.at(from) == 'u') {
+                    int cpEnd = from + 4;
+                    int codeUnit = cpEnd <= to ? CharClasses.hex(source, from + 1) : -1;
+                    if (codeUnit < 0) {
+                        throw new JsonWheelException("Invalid codepoint at " + from);
+                    }
+                    // Surrogate pairs arrive as two escapes, whose code units end up next to each other in the builder.
+                    builder.append((char) codeUnit);
+                    from = cpEnd;
+                }
+                // b) other escaped characters for which we can use the lookup table.
+                else {
+                    char escaped = CharClasses.unescape(source.at(from));
+                    if (escaped == 0) {
+                        throw new JsonWheelException("Invalid escape sequence at " + from + ": " + source.at(from));
+                    }
+                    builder.append(escaped);
+                }
+                run = from + 1;
+                from++;
+            }
+            source.append(builder, run, to);
+        }
+
+        static CharSequence parseText(Source source, int from, int to) {
+            if (source.indexOf('\\', from, to) >= 0) {
+                return parseString(source, from, to);
+            }
+            return source.view(from, to);
+        }
+    }
+
+    /**
+     * Bounded cache of decoded object keys. Lookups hash the raw key as it is in the source, so that finding a key
+     * allocates nothing. Once all slots a key may go into are taken, it replaces the one it would ideally go into. Can be
+     * shared by several reads, even concurrently: at worst, a lookup racing with another one misses, and decodes the key
+     * again.
+     */
+    static class SymbolTable {
+        static final int DEFAULT_CAPACITY = 256;
+        private static final int MAX_PROBES = 8;
+
+        /**
+         * Used by reads which aren't given a table of their own, so that these don't allocate one each.
+         */
+        static final SymbolTable SHARED = new SymbolTable(DEFAULT_CAPACITY);
+
+        private final String[] symbols;
+
+        /**
+         * Creates a table for up to {@code capacity} keys, rounded up to a power of two.
+         */
+        SymbolTable(int capacity) {
+            this.symbols = new String[Integer.highestOneBit(Math.max(capacity, MAX_PROBES) - 1) << 1];
+        }
+
+        /**
+         * Returns the key from {@code from} to {@code to}, both inclusive, decoded.
+         */
+        String intern(Source source, int from, int to) {
+            int hash = 0;
+            for (int i = from; i <= to; i++) {
+                char c = source.at(i);
+                if (c == '\\' || c >= 0x80) { // Not worth caching, since the raw key doesn't match the decoded one.
+                    return Deserializer.parseString(source, from, to);
+                }
+                hash = 31 * hash + c; // Same as String#hashCode for the decoded key.
+            }
+            String[] symbols = this.symbols;
+            int mask = symbols.length - 1;
+            int home = (hash ^ (hash >>> 16)) & mask;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int slot = (home + probe) & mask;
+                String symbol = symbols[slot];
+                if (symbol == null) {
+                    return symbols[slot] = source.string(from, to);
+                }
+                if (symbol.hashCode() == hash && matches(symbol, source, from, to)) {
+                    return symbol;
+                }
+            }
+            return symbols[home] = source.string(from, to);
+        }
+
+        private static boolean matches(String symbol, Source source, int from, int to) {
+            if (symbol.length() != to - from + 1) {
+                return false;
+            }
+            for (int i = 0; i < symbol.length(); i++) {
+                if (symbol.charAt(i) != source.at(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Checks a source against RFC 8259's grammar in a single pass, without decoding anything, see
+     * {@link JsonWheel#validate(String)}. Its scanning methods return the position following what they've checked, or
+     * the complement ({@code ~}) of the position of the first error.
+     */
+    static class Validator {
+        private final Source source;
+        private final int length;
+        private final boolean utf8; // Whether the source holds bytes, whose encoding is checked, too.
+        private final long[] objects = new long[Deserializer.DEFAULT_MAX_DEPTH / 64]; // Which levels are objects, as bits.
+
+        Validator(Source source, boolean utf8) {
+            this.source = source;
+            this.length = source.length();
+            this.utf8 = utf8;
+        }
+
+        int validate() {
+            int depth = 0;
+            int pos = skip(0);
+            while (true) {
+                if (pos >= length) {
+                    return pos;
+                }
+                char c = source.at(pos);
+                if (c == '{' || c == '[') {
+                    boolean object = c == '{';
+                    int open = pos;
+                    pos = skip(pos + 1);
+                    if (pos >= length || source.at(pos) != (object ? '}' : ']')) {
+                        if (depth == Deserializer.DEFAULT_MAX_DEPTH) {
+                            return open;
+                        }
+                        if (object) {
+                            objects[depth >>> 6] |= 1L << depth;
+                        }
+                        else {
+                            objects[depth >>> 6] &= ~(1L << depth);
+                        }
+                        depth++;
+                        if (object && (pos = member(pos)) < 0) {
+                            return ~pos;
+                        }
+                        continue;
+                    }
+                    pos++;
+                }
+                else if ((pos = scalar(pos)) < 0) {
+                    return ~pos;
+                }
+                // Close all objects and arrays ending with the value.
+                while (true) {
+                    pos = skip(pos);
+                    if (depth == 0) {
+                        return pos == length ? -1 : pos;
+                    }
+                    if (pos >= length) {
+                        return pos;
+                    }
+                    boolean object = (objects[(depth - 1) >>> 6] & 1L << (depth - 1)) != 0;
+                    c = source.at(pos);
+                    if (c == ',') {
+                        pos = skip(pos + 1);
+                        if (object && (pos = member(pos)) < 0) {
+                            return ~pos;
+                        }
+                        break;
+                    }
+                    if (c != (object ? '}' : ']')) {
+                        return pos;
+                    }
+                    depth--;
+                    pos++;
+                }
+            }
+        }
+
+        private int skip(int from) {
+            while (from < length) {
+                char c = source.at(from);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    break;
+                }
+                from++;
+            }
+            return from;
+        }
+
+        /**
+         * Checks the key at {@code from} and the colon following it, and returns where the value starts.
+         */
+        private int member(int from) {
+            if (from >= length || source.at(from) != '"') {
+                return ~from;
+            }
+            int pos = string(from);
+            if (pos < 0) {
+                return pos;
+            }
+            pos = skip(pos);
+            if (pos >= length || source.at(pos) != ':') {
+                return ~pos;
+            }
+            return skip(pos + 1);
+        }
+
+        private int scalar(int from) {
+            switch (source.at(from)) {
+                case '"':
+                    return string(from);
+                case 't':
+                    return literal(from, "true");
+                case 'f':
+                    return literal(from, "false");
+                case 'n':
+                    return literal(from, "null");
+                default:
+                    return number(from);
+            }
+        }
+
+        private int string(int from) {
+            for (int i = from + 1; i < length; i++) {
+                char c = source.at(i);
+                if (c == '"') {
+                    return i + 1;
+                }
+                if (c < ' ') {
+                    return ~i;
+                }
+                if (c == '\\') {
+                    i++;
+                    if (i >= length) {
+                        return ~i;
+                    }
+                    c = source.at(i);
+                    if (c == 'u') {
+                        for (int end = i + 4; i < end;) {
+                            if (++i >= length || CharClasses.hex(source.at(i)) < 0) {
+                                return ~i;
+                            }
+                        }
+                    }
+                    else if (CharClasses.unescape(c) == 0) {
+                        return ~i;
+                    }
+                }
+                else if (c >= 0x80 && utf8 && (i = sequence(i)) < 0) {
+                    return i;
+                }
+            }
+            return ~length;
+        }
+
+        /**
+         * Checks the multi-byte UTF-8 sequence starting at {@code from} and returns its last position, rejecting overlong
+         * encodings, surrogates and anything beyond U+10FFFF.
+         */
+        private int sequence(int from) {
+            char lead = source.at(from);
+            int continuations;
+            char min = 0x80; // Range of the first continuation byte.
+            char max = 0xBF;
+            if (lead >= 0xC2 && lead <= 0xDF) {
+                continuations = 1;
+            }
+            else if (lead >= 0xE0 && lead <= 0xEF) {
+                continuations = 2;
+                if (lead == 0xE0) {
+                    min = 0xA0;
+                }
+                else if (lead == 0xED) {
+                    max = 0x9F;
+                }
+            }
+            else if (lead >= 0xF0 && lead <= 0xF4) {
+                continuations = 3;
+                if (lead == 0xF0) {
+                    min = 0x90;
+                }
+                else if (lead == 0xF4) {
+                    max = 0x8F;
+                }
+            }
+            else {
+                return ~from;
+            }
+            for (int i = from + 1; i <= from + continuations; i++) {
+                if (i >= length) {
+                    return ~i;
+                }
+                char c = source.at(i);
+                if (c < min || c > max) {
+                    return ~i;
+                }
+                min = 0x80;
+                max = 0xBF;
+            }
+            return from + continuations;
+        }
+
+        private int literal(int from, String expected) {
+            for (int i = 0; i < expected.length(); i++) {
+                if (from + i >= length || source.at(from + i) != expected.charAt(i)) {
+                    return ~(from + i);
+                }
+            }
+            return from + expected.length();
+        }
+
+        private int number(int from) {
+            int pos = from;
+            if (source.at(pos) == '-') {
+                pos++;
+            }
+            if (pos < length && source.at(pos) == '0') {
+                pos++;
+            }
+            else if ((pos = digits(pos)) < 0) {
+                return pos;
+            }
+            if (pos < length && source.at(pos) == '.' && (pos = digits(pos + 1)) < 0) {
+                return pos;
+            }
+            if (pos < length && (source.at(pos) == 'e' || source.at(pos) == 'E')) {
+                pos++;
+                if (pos < length && (source.at(pos) == '+' || source.at(pos) == '-')) {
+                    pos++;
+                }
+                return digits(pos);
+            }
+            return pos;
+        }
+
+        /**
+         * Checks that at least one digit starts at {@code from} and returns the position following the last one.
+         */
+        private int digits(int from) {
+            int pos = from;
+            while (pos < length && CharClasses.isDigit(source.at(pos))) {
+                pos++;
+            }
+            return pos > from ? pos : ~from;
+        }
+    }
+
+    /**
+     * The JSON text the {@link Deserializer} scans. For encoded sources every position is a code unit of the encoding,
+     * which works because all of JSON's structural characters are ASCII, and ASCII bytes never occur within a multi-byte
+     * UTF-8 sequence.
+     */
+    abstract static class Source {
+
+        abstract int length();
+
+        abstract char at(int i);
+
+        /**
+         * Decodes the range from {@code from} to {@code to}, both inclusive, as-is.
+         */
+        abstract String string(int from, int to);
+
+        /**
+         * Appends the range from {@code from} to {@code to}, both inclusive, as-is.
+         */
+        abstract void append(StringBuilder builder, int from, int to);
+
+        /**
+         * Returns the position of the first {@code c} from {@code from} to {@code to}, both inclusive, or -1.
+         */
+        int indexOf(char c, int from, int to) {
+            for (; from <= to; from++) {
+                if (at(from) == c) {
+                    return from;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the index of the first byte equal to the ASCII {@code c} among the eight bytes of the little-endian
+         * {@code word}, or 8. Subtracting one from each byte only borrows from the top bit of a byte which was zero,
+         * i.e. equal to {@code c}, or which follows one that was.
+         */
+        static int indexOf(long word, char c) {
+            long x = word ^ (0x0101010101010101L * c);
+            long found = (x - 0x0101010101010101L) & ~x & 0x8080808080808080L;
+            return Long.numberOfTrailingZeros(found) >>> 3;
+        }
+
+        /**
+         * Returns the range from {@code from} to {@code to}, both inclusive, as-is, without copying it if possible.
+         */
+        CharSequence view(int from, int to) {
+            return new SourceView(this, from, to - from + 1);
+        }
+
+        /**
+         * Whether the range from {@code from} to {@code to}, both inclusive, consists of single-byte characters only, so
+         * that positions within it are characters, too.
+         */
+        boolean isAscii(int from, int to) {
+            for (int i = from; i <= to; i++) {
+                if (at(i) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Classifies characters through lookup tables rather than {@link Character}'s Unicode-wide methods or boxed
+     * collections. Only the first 256 characters have classes, i.e. ASCII and, for byte sources, the bytes of multi-byte
+     * UTF-8 sequences. Whitespace and letters are what {@link Character} considers them among those.
+     */
+    static final class CharClasses {
+        private static final byte WHITESPACE = 1;
+        private static final byte DIGIT = 2;
+        private static final byte NUMBER = 4; // Digits, signs, decimal points and exponents.
+        private static final byte LETTER = 8;
+        private static final byte[] CLASSES = new byte[256];
+        private static final byte[] HEX = new byte[256]; // Values of hex digits, -1 for other characters.
+        private static final char[] UNESCAPED = new char[128]; // What follows a backslash stands for, 0 if invalid.
+
+        static {
+            for (char c = 0; c < 256; c++) {
+                boolean digit = c >= '0' && c <= '9';
+                CLASSES[c] = (byte) ((Character.isWhitespace(c) ? WHITESPACE : 0)
+                        | (digit ? DIGIT | NUMBER : 0)
+                        | ("+-.eE".indexOf(c) >= 0 ? NUMBER : 0)
+                        | (Character.isLetter(c) ? LETTER : 0));
+                HEX[c] = (byte) (digit ? c - '0' : c >= 'a' && c <= 'f' ? c - 'a' + 10 : c >= 'A' && c <= 'F' ? c - 'A' + 10 : -1);
+            }
+            UNESCAPED['n'] = '\n';
+            UNESCAPED['b'] = '\b';
+            UNESCAPED['t'] = '\t';
+            UNESCAPED['f'] = '\f';
+            UNESCAPED['r'] = '\r';
+            UNESCAPED['/'] = '/';
+            UNESCAPED['\\'] = '\\';
+            UNESCAPED['"'] = '"';
+        }
+
+        private CharClasses() {
+        }
+
+        static boolean isWhitespace(int c) {
+            return c >= 0 && c < 256 && (CLASSES[c] & WHITESPACE) != 0;
+        }
+
+        static boolean isDigit(int c) {
+            return c >= 0 && c < 256 && (CLASSES[c] & DIGIT) != 0;
+        }
+
+        static boolean isNumber(int c) {
+            return c >= 0 && c < 256 && (CLASSES[c] & NUMBER) != 0;
+        }
+
+        static boolean isLetter(int c) {
+            return c >= 0 && c < 256 && (CLASSES[c] & LETTER) != 0;
+        }
+
+        /**
+         * Returns the value of the hex digit, or -1.
+         */
+        static int hex(int c) {
+            return c >= 0 && c < 256 ? HEX[c] : -1;
+        }
+
+        /**
+         * Returns the value of the four hex digits starting at {@code from}, or -1 if any of them isn't one.
+         */
+        static int hex(Source source, int from) {
+            // Any -1 makes the result negative, as it sets all bits from the lowest one shifted up.
+            return hex(source.at(from)) << 12 | hex(source.at(from + 1)) << 8 | hex(source.at(from + 2)) << 4 | hex(source.at(from + 3));
+        }
+
+        /**
+         * Returns what the character stands for following a backslash, or 0 if it's not an escape, including {@code u}.
+         */
+        static char unescape(char c) {
+            return c < 128 ? UNESCAPED[c] : 0;
+        }
+    }
+
+    /**
+     * Read-only window into a {@link Source}, only copied once asked for a {@link String}. Valid for as long as the
+     * underlying buffer, array or string is left unchanged.
+     */
+    static class SourceView implements CharSequence {
+        private final Source source;
+        private final int offset;
+        private final int length;
+
+        SourceView(Source source, int offset, int length) {
+            this.source = source;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+            }
+            return source.at(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Range " + start + " to " + end + " out of bounds for length " + length);
+            }
+            return new SourceView(source, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return length == 0 ? "" : source.string(offset, offset + length - 1);
+        }
+    }
+
+    static class CharSource extends Source {
+        private final char[] chars;
+        private final int length;
+
+        CharSource(char[] chars) {
+            this(chars, chars.length);
+        }
+
+        /**
+         * Creates a source of just the first {@code length} chars.
+         */
+        CharSource(char[] chars, int length) {
+            this.chars = chars;
+            this.length = length;
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        char at(int i) {
+            return chars[i];
+        }
+
+        @Override
+        String string(int from, int to) {
+            return new String(chars, from, to - from + 1);
+        }
+
+        @Override
+        void append(StringBuilder builder, int from, int to) {
+            builder.append(chars, from, to - from + 1);
+        }
+
+        @Override
+        int indexOf(char c, int from, int to) {
+            char[] chars = this.chars;
+            for (; from <= to; from++) {
+                if (chars[from] == c) {
+                    return from;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Reads a String in place, for scanning most of it only once, where copying it into a {@link CharSource} doesn't pay
+     * off.
+     */
+    static class StringSource extends Source {
+        private final String string;
+
+        StringSource(String string) {
+            this.string = string;
+        }
+
+        @Override
+        int length() {
+            return string.length();
+        }
+
+        @Override
+        char at(int i) {
+            return string.charAt(i);
+        }
+
+        @Override
+        String string(int from, int to) {
+            return string.substring(from, to + 1);
+        }
+
+        @Override
+        void append(StringBuilder builder, int from, int to) {
+            builder.append(string, from, to + 1);
+        }
+    }
+
+    static class ByteSource extends Source {
+        private final byte[] bytes;
+        private final int offset;
+        private final int length;
+        private final ByteBuffer words; // Reads eight bytes at a time.
+
+        ByteSource(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            this.words = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        char at(int i) {
+            if (i >= length) {
+                throw new ArrayIndexOutOfBoundsException(i);
+            }
+            return (char) (bytes[offset + i] & 0xFF);
+        }
+
+        @Override
+        String string(int from, int to) {
+            return new String(bytes, offset + from, to - from + 1, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void append(StringBuilder builder, int from, int to) {
+            if (isAscii(from, to)) { // Spares decoding into a String first.
+                for (int i = from; i <= to; i++) {
+                    builder.append(at(i));
+                }
+            }
+            else {
+                builder.append(string(from, to));
+            }
+        }
+
+        @Override
+        CharSequence view(int from, int to) {
+            return isAscii(from, to) ? super.view(from, to) : string(from, to);
+        }
+
+        @Override
+        int indexOf(char c, int from, int to) {
+            if (c < 0x80 && to < length) {
+                for (; from + 7 <= to; from += 8) {
+                    int i = indexOf(words.getLong(offset + from), c);
+                    if (i < 8) {
+                        return from + i;
+                    }
+                }
+            }
+            return super.indexOf(c, from, to);
+        }
+    }
+
+    static class BufferSource extends Source {
+        private final ByteBuffer buffer;
+        private final ByteBuffer words; // Reads eight bytes at a time.
+
+        BufferSource(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.words = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        @Override
+        int length() {
+            return buffer.limit();
+        }
+
+        @Override
+        char at(int i) {
+            return (char) (buffer.get(i) & 0xFF);
+        }
+
+        @Override
+        String string(int from, int to) {
+            byte[] bytes = new byte[to - from + 1];
+            ByteBuffer range = buffer.duplicate();
+            range.position(from);
+            range.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void append(StringBuilder builder, int from, int to) {
+            if (isAscii(from, to)) { // Spares decoding into a String first.
+                for (int i = from; i <= to; i++) {
+                    builder.append(at(i));
+                }
+            }
+            else {
+                builder.append(string(from, to));
+            }
+        }
+
+        @Override
+        CharSequence view(int from, int to) {
+            return isAscii(from, to) ? super.view(from, to) : string(from, to);
+        }
+
+        @Override
+        int indexOf(char c, int from, int to) {
+            if (c < 0x80 && to < buffer.limit()) {
+                for (; from + 7 <= to; from += 8) {
+                    int i = indexOf(words.getLong(from), c);
+                    if (i < 8) {
+                        return from + i;
+                    }
+                }
+            }
+            return super.indexOf(c, from, to);
+        }
+    }
+
+    enum Token {
+        START_OBJECT,
+        END_OBJECT,
+        START_ARRAY,
+        END_ARRAY,
+        KEY,
+        STRING,
+        NUMBER,
+        TRUE,
+        FALSE,
+        NULL
+    }
+
+    /**
+     * Incremental pull parser reading through a fixed-size, refillable buffer. Strings and numbers are only decoded when
+     * asked for. Several top-level values may follow one another, e.g. in a log file.
+     */
+    static class Tokenizer implements AutoCloseable {
+        static final int DEFAULT_BUFFER_SIZE = 8192;
+
+        private final Reader reader;
+        private char[] buf;
+        private Deserializer deserializer; // Decodes tokens from the buffer.
+        private final SymbolTable symbols = new SymbolTable(SymbolTable.DEFAULT_CAPACITY);
+        private int pos; // Next char to scan.
+        private int limit; // End of the buffered input.
+        private int mark; // Start of the buffered input to keep when refilling, i.e. the current token's start.
+        private int tokenEnd;
+        private long discarded; // Chars dropped from the buffer so far, to report positions within the whole input.
+        private boolean[] inObject = new boolean[16];
+        private int depth;
+        private boolean expectKey;
+        private Token token;
+
+        Tokenizer(Reader reader, int bufferSize) {
+            this.reader = reader;
+            this.buf = new char[bufferSize];
+            this.deserializer = new Deserializer(new CharSource(buf));
+        }
+
+        /**
+         * Advances to the next token. Returns {@code null} once the input is exhausted.
+         */
+        Token nextToken() {
+            int c = skipWhitespace();
+            if (token == Token.KEY) {
+                if (c != ':') {
+                    throw new JsonWheelException("Expected : at " + position());
+                }
+                pos++;
+                c = skipWhitespace();
+            }
+            else if (depth > 0 && token != Token.START_OBJECT && token != Token.START_ARRAY) {
+                if (c == ',') {
+                    pos++;
+                    expectKey = inObject[depth - 1];
+                    c = skipWhitespace();
+                }
+                else if (c != '}' && c != ']' && c != -1) {
+                    throw new JsonWheelException("Expected , at " + position());
+                }
+            }
+            if (c == -1) {
+                if (depth > 0) {
+                    throw new JsonWheelException("Unexpected end of input at " + position());
+                }
+                return token = null;
+            }
+            if (expectKey && c != '"' && c != '}') {
+                throw new JsonWheelException("Expected key at " + position());
+            }
+            switch (c) {
+                case '{':
+                    pos++;
+                    push(true);
+                    return token = Token.START_OBJECT;
+                case '[':
+                    pos++;
+                    push(false);
+                    return token = Token.START_ARRAY;
+                case '}':
+                    pop(true);
+                    pos++;
+                    return token = Token.END_OBJECT;
+                case ']':
+                    pop(false);
+                    pos++;
+                    return token = Token.END_ARRAY;
+                case '"':
+                    scanString();
+                    if (expectKey) {
+                        expectKey = false;
+                        return token = Token.KEY;
+                    }
+                    return token = Token.STRING;
+                case 't':
+                    return token = scanLiteral("true", Token.TRUE);
+                case 'f':
+                    return token = scanLiteral("false", Token.FALSE);
+                case 'n':
+                    return token = scanLiteral("null", Token.NULL);
+                default:
+                    if (!CharClasses.isNumber((char) c)) {
+                        throw new JsonWheelException("Unexpected character '" + (char) c + "' at " + position());
+                    }
+                    while (peek() != -1 && CharClasses.isNumber(buf[pos])) {
+                        pos++;
+                    }
+                    tokenEnd = pos - 1;
+                    return token = Token.NUMBER;
+            }
+        }
+
+        Token currentToken() {
+            return token;
+        }
+
+        /**
+         * Decodes the current {@link Token#KEY} or {@link Token#STRING}.
+         */
+        String currentString() {
+            if (token != Token.KEY && token != Token.STRING) {
+                throw new JsonWheelException("Current token " + token + " is not a string");
+            }
+            if (token == Token.KEY) {
+                return symbols.intern(deserializer.source, mark, tokenEnd);
+            }
+            return Deserializer.parseString(deserializer.source, mark, tokenEnd);
+        }
+
+        /**
+         * Like {@link #currentString()}, but returns a view into the buffer unless there are escape sequences to decode.
+         * Only valid until the next call to {@link #nextToken()}, which may overwrite the buffer.
+         */
+        CharSequence currentText() {
+            if (token != Token.KEY && token != Token.STRING) {
+                throw new JsonWheelException("Current token " + token + " is not a string");
+            }
+            return Deserializer.parseText(deserializer.source, mark, tokenEnd);
+        }
+
+        /**
+         * Decodes the current {@link Token#NUMBER}.
+         */
+        Number currentNumber() {
+            if (token != Token.NUMBER) {
+                throw new JsonWheelException("Current token " + token + " is not a number");
+            }
+            return deserializer.parseNumber(mark, tokenEnd);
+        }
+
+        /**
+         * Skips the current object's or array's children without decoding or validating them, so that the current token
+         * becomes the matching {@link Token#END_OBJECT} or {@link Token#END_ARRAY}. Does nothing for other tokens.
+         */
+        void skipChildren() {
+            if (token != Token.START_OBJECT && token != Token.START_ARRAY) {
+                return;
+            }
+            int nesting = 1;
+            boolean inString = false;
+            boolean escaped = false;
+            while (nesting > 0) {
+                mark = pos;
+                int c = peek();
+                if (c == -1) {
+                    throw new JsonWheelException("Unexpected end of input at " + position());
+                }
+                pos++;
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    }
+                    else if (c == '\\') {
+                        escaped = true;
+                    }
+                    else if (c == '"') {
+                        inString = false;
+                    }
+                }
+                else if (c == '"') {
+                    inString = true;
+                }
+                else if (c == '{' || c == '[') {
+                    nesting++;
+                }
+                else if (c == '}' || c == ']') {
+                    nesting--;
+                }
+            }
+            token = inObject[--depth] ? Token.END_OBJECT : Token.END_ARRAY;
+            expectKey = false;
+        }
+
+        @Override
+        public void close() {
+            try {
+                reader.close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void push(boolean object) {
+            if (depth == inObject.length) {
+                inObject = Arrays.copyOf(inObject, depth * 2);
+            }
+            inObject[depth++] = object;
+            expectKey = object;
+        }
+
+        private void pop(boolean object) {
+            if (depth == 0 || inObject[depth - 1] != object) {
+                throw new JsonWheelException("Unexpected " + buf[pos] + " at " + position());
+            }
+            depth--;
+            expectKey = false;
+        }
+
+        private void scanString() {
+            pos++; // Skip opening quote.
+            mark = pos;
+            boolean escaped = false;
+            while (true) {
+                int c = peek();
+                if (c == -1) {
+                    throw new JsonWheelException("Unterminated string at " + position());
+                }
+                if (escaped) {
+                    escaped = false;
+                }
+                else if (c == '\\') {
+                    escaped = true;
+                }
+                else if (c == '"') {
+                    break;
+                }
+                pos++;
+            }
+            tokenEnd = pos - 1;
+            pos++; // Skip closing quote.
+        }
+
+        private Token scanLiteral(String expected, Token literal) {
+            while (peek() != -1 && CharClasses.isLetter(buf[pos])) {
+                pos++;
+            }
+            boolean matches = pos - mark == expected.length();
+            for (int i = 0; matches && i < expected.length(); i++) {
+                matches = buf[mark + i] == expected.charAt(i);
+            }
+            if (!matches) {
+                throw new JsonWheelException("Invalid literal '" + new String(buf, mark, pos - mark) + "' at " + (discarded + mark));
+            }
+            return literal;
+        }
+
+        private int skipWhitespace() {
+            while (true) {
+                mark = pos; // Nothing scanned so far needs to be kept.
+                int c = peek();
+                if (c == -1 || !CharClasses.isWhitespace(c)) {
+                    return c;
+                }
+                pos++;
+            }
+        }
+
+        private int peek() {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            return buf[pos];
+        }
+
+        private boolean fill() {
+            if (mark > 0) {
+                System.arraycopy(buf, mark, buf, 0, limit - mark);
+                discarded += mark;
+                limit -= mark;
+                pos -= mark;
+                tokenEnd -= mark;
+                mark = 0;
+            }
+            else if (limit == buf.length) { // The current token spans the whole buffer.
+                buf = Arrays.copyOf(buf, buf.length * 2);
+                deserializer = new Deserializer(new CharSource(buf));
+            }
+            try {
+                int read = reader.read(buf, limit, buf.length - limit);
+                if (read == -1) {
+                    return false;
+                }
+                limit += read;
+                return true;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private long position() {
+            return discarded + pos;
+        }
+    }
+
+    /**
+     * Reads one document after the other, reusing its buffers, stack and symbol table instead of allocating them anew
+     * for every document. The trees read don't reference any of those. Not thread-safe: keep one per thread, or borrow
+     * one from a {@link ParserPool}.
+     */
+    static class Parser {
+        /**
+         * Longest input whose copy is kept around for the next read, so that a single large document doesn't pin its
+         * size in memory.
+         */
+        static final int MAX_RETAINED_CHARS = 1 << 16;
+
+        private final Deserializer deserializer;
+        private char[] chars = new char[1024];
+
+        /**
+         * Creates a parser failing for objects and arrays nested deeper than {@code maxDepth}.
+         */
+        Parser(int maxDepth) {
+            this.deserializer = new Deserializer(null, new SymbolTable(SymbolTable.DEFAULT_CAPACITY), maxDepth);
+        }
+
+        WheelNode read(String json) {
+            return deserializer.reset(copy(json)).readInternal();
+        }
+
+        /**
+         * Reports the JSON to the handler as it's read, see {@link JsonWheel#parse(String, Handler)}. Doesn't allocate
+         * anything for the usual strings and numbers, not even for copying the String, as long as it's short enough.
+         */
+        void parse(String json, Handler handler) {
+            deserializer.reset(copy(json)).parse(handler);
+        }
+
+        /**
+         * Reports UTF-8 encoded JSON to the handler as it's read, see {@link JsonWheel#parse(String, Handler)}.
+         */
+        void parse(byte[] json, Handler handler) {
+            deserializer.reset(new ByteSource(json, 0, json.length)).parse(handler);
+        }
+
+        private Source copy(String json) {
+            int length = json.length();
+            char[] chars = this.chars;
+            if (length > chars.length) {
+                chars = new char[length];
+                if (length <= MAX_RETAINED_CHARS) {
+                    this.chars = chars;
+                }
+            }
+            json.getChars(0, length, chars, 0);
+            return new CharSource(chars, length);
+        }
+
+        /**
+         * Reads UTF-8 encoded JSON, see {@link JsonWheel#read(byte[])}.
+         */
+        WheelNode read(byte[] json) {
+            return deserializer.reset(new ByteSource(json, 0, json.length)).readInternal();
+        }
+
+        /**
+         * Reads UTF-8 encoded JSON from the buffer's position to its limit, see {@link JsonWheel#read(ByteBuffer)}.
+         */
+        WheelNode read(ByteBuffer json) {
+            return deserializer.reset(source(json)).readInternal();
+        }
+    }
+
+    /**
+     * Bounded pool of {@link Parser}s to share among threads, e.g. virtual ones, for which a parser per thread would
+     * hardly ever be reused. Borrowing never blocks: if the pool is empty a new parser is created, and if it is full a
+     * returned parser is dropped.
+     */
+    static class ParserPool {
+        private final BlockingQueue<Parser> idle;
+        private final int maxDepth;
+
+        ParserPool(int capacity, int maxDepth) {
+            this.idle = new ArrayBlockingQueue<>(capacity);
+            this.maxDepth = maxDepth;
+        }
+
+        Parser borrow() {
+            Parser parser = idle.poll();
+            return parser != null ? parser : new Parser(maxDepth);
+        }
+
+        void release(Parser parser) {
+            idle.offer(parser);
+        }
+
+        /**
+         * Reads JSON with a borrowed parser, see {@link Parser#read(String)}.
+         */
+        WheelNode read(String json) {
+            Parser parser = borrow();
+            try {
+                return parser.read(json);
+            }
+            finally {
+                release(parser);
+            }
+        }
+
+        /**
+         * Reads UTF-8 encoded JSON with a borrowed parser, see {@link Parser#read(byte[])}.
+         */
+        WheelNode read(byte[] json) {
+            Parser parser = borrow();
+            try {
+                return parser.read(json);
+            }
+            finally {
+                release(parser);
+            }
+        }
+    }
+
+    /**
+     * Splits newline-delimited JSON into its lines and reads them one by one with a {@link Parser} of its own. Splits
+     * at the first newline past the middle, so that both halves can be read in parallel.
+     */
+    static class LineSpliterator implements Spliterator<WheelNode> {
+        private static final int MIN_SPLIT = 1 << 13; // Not worth handing off fewer bytes to another thread.
+
+        private final ByteBuffer json;
+        private final Source source; // Scans for newlines.
+        private int pos;
+        private final int end; // Exclusive.
+        private Parser parser;
+
+        LineSpliterator(ByteBuffer json, int from, int end) {
+            this(json, JsonWheel.source(json), from, end);
+        }
+
+        private LineSpliterator(ByteBuffer json, Source source, int from, int end) {
+            this.json = json;
+            this.source = source;
+            this.pos = from;
+            this.end = end;
+        }
+
+        /**
+         * Maps the file into read-only regions of at most {@code maxRegionSize} bytes each, which all end with a
+         * complete line. Fails for lines longer than that.
+         */
+        static List<ByteBuffer> map(Path file, long maxRegionSize) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                List<ByteBuffer> regions = new ArrayList<>();
+                long size = channel.size();
+                for (long start = 0; start < size;) {
+                    long regionSize = Math.min(maxRegionSize, size - start);
+                    MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, regionSize);
+                    int cut = (int) regionSize;
+                    if (start + regionSize < size) { // Cut after the last newline, leaving the incomplete line for the next region.
+                        while (cut > 0 && region.get(cut - 1) != '\n') {
+                            cut--;
+                        }
+                        if (cut == 0) {
+                            throw new JsonWheelException("Line longer than " + maxRegionSize + " bytes at " + start);
+                        }
+                        region.limit(cut);
+                    }
+                    regions.add(region);
+                    start += cut;
+                }
+                return regions;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super WheelNode> action) {
+            while (pos < end) {
+                int from = pos;
+                int newline = source.indexOf('\n', from, end - 1);
+                int to = (newline < 0 ? end : newline) - 1;
+                pos = to + 2;
+                while (from <= to && isBlank(source.at(from))) {
+                    from++;
+                }
+                while (to >= from && isBlank(source.at(to))) {
+                    to--;
+                }
+                if (from <= to) {
+                    if (parser == null) {
+                        parser = JsonWheel.parser();
+                    }
+                    ByteBuffer line = json.duplicate();
+                    line.limit(to + 1);
+                    line.position(from);
+                    action.accept(parser.read(line));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<WheelNode> trySplit() {
+            if (end - pos < MIN_SPLIT) {
+                return null;
+            }
+            int newline = source.indexOf('\n', pos + (end - pos) / 2, end - 1);
+            if (newline < 0) {
+                return null;
+            }
+            LineSpliterator prefix = new LineSpliterator(json, source, pos, newline + 1);
+            pos = newline + 1;
+            return prefix;
+        }
+
+        /**
+         * Returns the number of bytes left, which is as many lines as there can be at most.
+         */
+        @Override
+        public long estimateSize() {
+            return end - pos;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        private static boolean isBlank(char c) {
+            return c == ' ' || c == '\t' || c == '\r';
+        }
+    }
+
+    /**
+     * Reads lines by splitting them into tasks of about {@code threshold} bytes each. Being a completer, it never waits
+     * for its subtasks, so the pool never has to make up for a blocked worker by starting another thread.
+     */
+    static class LineTask extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<WheelNode> lines;
+        private final long threshold;
+        private final Consumer<WheelNode> consumer;
+
+        LineTask(Spliterator<WheelNode> lines, long threshold, Consumer<WheelNode> consumer) {
+            this(null, lines, threshold, consumer);
+        }
+
+        private LineTask(LineTask parent, Spliterator<WheelNode> lines, long threshold, Consumer<WheelNode> consumer) {
+            super(parent);
+            this.lines = lines;
+            this.threshold = threshold;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void compute() {
+            Spliterator<WheelNode> prefix;
+            while (lines.estimateSize() > threshold && (prefix = lines.trySplit()) != null) {
+                addToPendingCount(1);
+                new LineTask(this, prefix, threshold, consumer).fork();
+            }
+            lines.forEachRemaining(consumer);
+            propagateCompletion();
+        }
+    }
+
+    /**
+     * Reads a large top-level array by splitting it into chunks, and reading those in parallel. Where the elements
+     * within a chunk start depends on whether it starts within a string, and how deeply nested. So, first, for every
+     * chunk in parallel, quotes are counted, and brackets under either assumption. Then, going through the chunks in
+     * order tells which assumption holds for each. Finally, every chunk is read from its first comma between elements
+     * up to the first one in the next chunk.
+     */
+    static class ParallelArrayReader {
+        static final int MIN_CHUNK_SIZE = 1 << 16;
+
+        private final Source source;
+        private final SymbolTable symbols = new SymbolTable(SymbolTable.DEFAULT_CAPACITY); // Shared by all chunks.
+
+        ParallelArrayReader(Source source) {
+            this.source = source;
+        }
+
+        WheelNode read(ForkJoinPool pool) {
+            int open = skipWhitespace(0);
+            int chunks = Math.min(4 * pool.getParallelism(), source.length() / MIN_CHUNK_SIZE);
+            if (open == source.length() || source.at(open) != '[' || chunks < 2) {
+                return new Deserializer(source, symbols).readInternal();
+            }
+            Listener listener = JsonWheel.listener;
+            ReadStats stats = listener != null ? ReadStats.start(null, source.length()) : null;
+            int[] starts = new int[chunks + 1];
+            for (int i = 0; i <= chunks; i++) {
+                starts[i] = open + 1 + (int) ((long) (source.length() - open - 1) * i / chunks);
+            }
+            try {
+                // Count quotes and brackets.
+                List<Callable<int[]>> summaries = new ArrayList<>();
+                for (int i = 0; i < chunks; i++) {
+                    int chunk = i;
+                    summaries.add(() -> summarize(starts[chunk], starts[chunk + 1]));
+                }
+                List<Future<int[]>> summarized = pool.invokeAll(summaries);
+                // Resolve where each chunk starts.
+                boolean[] inString = new boolean[chunks];
+                int[] depth = new int[chunks];
+                depth[0] = 1;
+                for (int i = 1; i < chunks; i++) {
+                    int[] summary = summarized.get(i - 1).get();
+                    depth[i] = depth[i - 1] + (inString[i - 1] ? summary[2] : summary[1]);
+                    inString[i] = inString[i - 1] ^ summary[0] == 1;
+                }
+                // Read the chunks' elements.
+                ReadStats[] chunkStats = new ReadStats[chunks];
+                List<Callable<List<Object>>> reads = new ArrayList<>();
+                for (int i = 0; i < chunks; i++) {
+                    int chunk = i;
+                    reads.add(() -> {
+                        int delim = chunk == 0 ? open : firstComma(starts[chunk], starts[chunk + 1], inString[chunk], depth[chunk]);
+                        if (delim < 0) {
+                            return Collections.emptyList();
+                        }
+                        Deserializer deserializer = new Deserializer(source, symbols);
+                        deserializer.stats = chunkStats[chunk] = stats != null ? new ReadStats() : null;
+                        return deserializer.readElements(delim, starts[chunk + 1]);
+                    });
+                }
+                List<List<Object>> read = new ArrayList<>();
+                for (Future<List<Object>> elements : pool.invokeAll(reads)) {
+                    read.add(elements.get());
+                }
+                WheelNode node = new WheelNode().setInner(concat(read));
+                if (listener != null) {
+                    stats.opened(0, false);
+                    for (ReadStats chunk : chunkStats) {
+                        if (chunk != null) { // Unless the chunk had no elements of its own.
+                            stats.add(chunk);
+                        }
+                    }
+                    listener.onRead(stats.finish());
+                }
+                return node;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JsonWheelException("Interrupted while reading in parallel");
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new JsonWheelException("Failed reading in parallel: " + e.getCause());
+            }
+        }
+
+        /**
+         * Concatenates the chunks' elements. If every chunk packed its numbers the same way, so does the result, just as
+         * reading the array sequentially would have. Otherwise, all of them are boxed.
+         */
+        private static List<Object> concat(List<List<Object>> chunks) {
+            int size = 0;
+            boolean integers = true;
+            boolean ints = true;
+            boolean decimals = true;
+            for (List<Object> chunk : chunks) {
+                if (!chunk.isEmpty()) {
+                    size += chunk.size();
+                    integers &= chunk instanceof IntList || chunk instanceof LongList;
+                    ints &= chunk instanceof IntList;
+                    decimals &= chunk instanceof DoubleList;
+                }
+            }
+            if (size > 0 && integers) {
+                long[] values = new long[size];
+                int i = 0;
+                for (List<Object> chunk : chunks) {
+                    if (chunk instanceof IntList) {
+                        for (int value : ((IntList) chunk).values) {
+                            values[i++] = value;
+                        }
+                    }
+                    else if (chunk instanceof LongList) {
+                        long[] longs = ((LongList) chunk).values;
+                        System.arraycopy(longs, 0, values, i, longs.length);
+                        i += longs.length;
+                    }
+                }
+                return ints ? new IntList(values, size) : new LongList(values, size);
+            }
+            if (size > 0 && decimals) {
+                double[] values = new double[size];
+                int i = 0;
+                for (List<Object> chunk : chunks) {
+                    if (chunk instanceof DoubleList) {
+                        double[] doubles = ((DoubleList) chunk).values;
+                        System.arraycopy(doubles, 0, values, i, doubles.length);
+                        i += doubles.length;
+                    }
+                }
+                return new DoubleList(values, size);
+            }
+            List<Object> elements = new ArrayList<>(size);
+            for (List<Object> chunk : chunks) {
+                elements.addAll(chunk);
+            }
+            return elements;
+        }
+
+        /**
+         * Returns, for the chunk from {@code from} to {@code to}, exclusive, whether it has an odd number of quotes, and
+         * by how much it changes the nesting if it starts outside of a string, and if it starts within one.
+         */
+        private int[] summarize(int from, int to) {
+            boolean inString = false; // Assuming the chunk starts outside of a string. Otherwise, it's the opposite.
+            int outside = 0;
+            int inside = 0;
+            for (int i = from; i < to; i++) {
+                char c = source.at(i);
+                if (c == '"' && !isEscaped(i)) {
+                    inString = !inString;
+                }
+                else if (c == '{' || c == '[') {
+                    if (inString) {
+                        inside++;
+                    }
+                    else {
+                        outside++;
+                    }
+                }
+                else if (c == '}' || c == ']') {
+                    if (inString) {
+                        inside--;
+                    }
+                    else {
+                        outside--;
+                    }
+                }
+            }
+            return new int[]{ inString ? 1 : 0, outside, inside };
+        }
+
+        /**
+         * Returns the first comma between the array's elements from {@code from} to {@code to}, exclusive, or -1.
+         */
+        private int firstComma(int from, int to, boolean inString, int depth) {
+            for (int i = from; i < to; i++) {
+                char c = source.at(i);
+                if (c == '"' && !isEscaped(i)) {
+                    inString = !inString;
+                }
+                else if (!inString) {
+                    if (c == '{' || c == '[') {
+                        depth++;
+                    }
+                    else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+                    else if (c == ',' && depth == 1) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private int skipWhitespace(int from) {
+            while (from < source.length() && CharClasses.isWhitespace(source.at(from))) {
+                from++;
+            }
+            return from;
+        }
+
+        /**
+         * Whether the quote at {@code quote} is preceded by an odd number of backslashes, also from a previous chunk.
+         */
+        private boolean isEscaped(int quote) {
+            int backslashes = 0;
+            while (quote - backslashes > 0 && source.at(quote - backslashes - 1) == '\\') {
+                backslashes++;
+            }
+            return (backslashes & 1) == 1;
+        }
+    }
+
+    /**
+     * Writes trees of maps, lists, strings, numbers, booleans and nulls, or {@link WheelNode}s thereof, as JSON. Numbers
+     * are formatted without going through a String where possible. Subclasses encode the output as chars or bytes.
+     */
+    abstract static class Serializer {
+        private static final String[] ESCAPES = new String[128]; // Escape sequence per ASCII char, if it needs one.
+
+        static {
+            for (char c = 0; c < 0x20; c++) {
+                ESCAPES[c] = String.format("\\u%04x", (int) c);
+            }
+            ESCAPES['"'] = "\\\"";
+            ESCAPES['\\'] = "\\\\";
+            ESCAPES['\n'] = "\\n";
+            ESCAPES['\r'] = "\\r";
+            ESCAPES['\t'] = "\\t";
+            ESCAPES['\b'] = "\\b";
+            ESCAPES['\f'] = "\\f";
+        }
+
+        private final char[] digits = new char[32];
+        private int depth;
+
+        /**
+         * Writes a single ASCII char.
+         */
+        abstract void ascii(char c);
+
+        /**
+         * Writes ASCII chars from {@code from} to {@code to}, exclusive.
+         */
+        abstract void ascii(char[] chars, int from, int to);
+
+        /**
+         * Writes the chars from {@code from} to {@code to}, exclusive, none of which need to be escaped.
+         */
+        abstract void text(CharSequence text, int from, int to);
+
+        void value(Object value) {
+            if (value == null) {
+                ascii("null");
+            }
+            else if (value instanceof CharSequence) {
+                string((CharSequence) value);
+            }
+            else if (value instanceof Number) {
+                number((Number) value);
+            }
+            else if (value instanceof Boolean) {
+                ascii((Boolean) value ? "true" : "false");
+            }
+            else if (value instanceof Map) {
+                enter();
+                object((Map<?, ?>) value);
+                depth--;
+            }
+            else if (value instanceof Iterable) {
+                enter();
+                array((Iterable<?>) value);
+                depth--;
+            }
+            else if (value instanceof WheelNode) {
+                value(((WheelNode) value).val(Object.class));
+            }
+            else {
+                throw new JsonWheelException("Cannot write " + value.getClass().getName());
+            }
+        }
+
+        private void enter() {
+            if (++depth > Deserializer.DEFAULT_MAX_DEPTH) { // Most likely a cycle.
+                throw new JsonWheelException("Nesting deeper than " + Deserializer.DEFAULT_MAX_DEPTH);
+            }
+        }
+
+        private void object(Map<?, ?> map) {
+            ascii('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    ascii(',');
+                }
+                first = false;
+                string(String.valueOf(entry.getKey()));
+                ascii(':');
+                value(entry.getValue());
+            }
+            ascii('}');
+        }
+
+        private void array(Iterable<?> iterable) {
+            ascii('[');
+            // Spare boxing packed numbers.
+            if (iterable instanceof IntList) {
+                int[] values = ((IntList) iterable).values;
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        ascii(',');
+                    }
+                    integer(values[i]);
+                }
+            }
+            else if (iterable instanceof LongList) {
+                long[] values = ((LongList) iterable).values;
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        ascii(',');
+                    }
+                    integer(values[i]);
+                }
+            }
+            else if (iterable instanceof DoubleList) {
+                double[] values = ((DoubleList) iterable).values;
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        ascii(',');
+                    }
+                    decimal(values[i]);
+                }
+            }
+            else {
+                boolean first = true;
+                for (Object element : iterable) {
+                    if (!first) {
+                        ascii(',');
+                    }
+                    first = false;
+                    value(element);
+                }
+            }
+            ascii(']');
+        }
+
+        private void string(CharSequence string) {
+            ascii('"');
+            int run = 0; // Start of the current run of chars which can be written as-is.
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c < 0x80 && ESCAPES[c] != null) {
+                    if (run < i) {
+                        text(string, run, i);
+                    }
+                    ascii(ESCAPES[c]);
+                    run = i + 1;
+                }
+            }
+            if (run < string.length()) {
+                text(string, run, string.length());
+            }
+            ascii('"');
+        }
+
+        private void number(Number number) {
+            if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+                integer(number.longValue());
+            }
+            else if (number instanceof Double) {
+                decimal(number.doubleValue());
+            }
+            else {
+                if (number instanceof Float && (((Float) number).isNaN() || ((Float) number).isInfinite())) {
+                    throw new JsonWheelException("Cannot write " + number);
+                }
+                ascii(number.toString()); // BigDecimal, BigInteger, and anything else prints as a JSON number anyway.
+            }
+        }
+
+        private void integer(long value) {
+            if (value == Long.MIN_VALUE) { // Has no positive counterpart.
+                ascii("-9223372036854775808");
+                return;
+            }
+            int pos = digits(Math.abs(value), 0, digits.length);
+            if (value < 0) {
+                digits[--pos] = '-';
+            }
+            ascii(digits, pos, digits.length);
+        }
+
+        /**
+         * Writes the decimal with as few fractional digits as it takes to read back the same double, as long as those
+         * make for an integer of at most 53 bits. Such a decimal is read back exactly, by dividing the integer by a power
+         * of ten, see {@link Deserializer#parseNumber(int, int)}. Other decimals go through
+         * {@link Double#toString(double)}.
+         */
+        private void decimal(double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new JsonWheelException("Cannot write " + value);
+            }
+            double abs = Math.abs(value);
+            for (int scale = 0; scale < Deserializer.POWERS_OF_TEN.length; scale++) {
+                double scaled = abs * Deserializer.POWERS_OF_TEN[scale];
+                if (scaled >= 0x1p53) {
+                    break;
+                }
+                long mantissa = Math.round(scaled);
+                if (mantissa / Deserializer.POWERS_OF_TEN[scale] == abs) {
+                    int pos = digits.length;
+                    if (scale == 0) {
+                        digits[--pos] = '0';
+                        digits[--pos] = '.';
+                        pos = digits(mantissa, 0, pos);
+                    }
+                    else {
+                        pos = digits(mantissa, scale, pos);
+                        System.arraycopy(digits, pos, digits, pos - 1, digits.length - scale - pos);
+                        digits[digits.length - scale - 1] = '.';
+                        pos--;
+                        if (digits[pos] == '.') {
+                            digits[--pos] = '0';
+                        }
+                    }
+                    if (Double.doubleToRawLongBits(value) < 0) { // Includes negative zero.
+                        digits[--pos] = '-';
+                    }
+                    ascii(digits, pos, digits.length);
+                    return;
+                }
+            }
+            ascii(Double.toString(value));
+        }
+
+        /**
+         * Formats the non-negative value into {@link #digits}, ending before {@code end}, with at least {@code minDigits}
+         * digits. Returns where they start.
+         */
+        private int digits(long value, int minDigits, int end) {
+            int pos = end;
+            do {
+                digits[--pos] = (char) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0 || end - pos < minDigits);
+            return pos;
+        }
+
+        private void ascii(String ascii) {
+            for (int i = 0; i < ascii.length(); i++) {
+                ascii(ascii.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Writes JSON through a fixed-size buffer to a {@link Writer} or a {@link StringBuilder}.
+     */
+    static class CharSerializer extends Serializer {
+        static final int DEFAULT_BUFFER_SIZE = 1024;
+
+        private final Writer writer;
+        private final StringBuilder builder;
+        private final char[] buf;
+        private int size;
+
+        CharSerializer(Writer writer, int bufferSize) {
+            this.writer = writer;
+            this.builder = null;
+            this.buf = new char[bufferSize];
+        }
+
+        CharSerializer(StringBuilder builder, int bufferSize) {
+            this.writer = null;
+            this.builder = builder;
+            this.buf = new char[bufferSize];
+        }
+
+        @Override
+        void ascii(char c) {
+            if (size == buf.length) {
+                flush();
+            }
+            buf[size++] = c;
+        }
+
+        @Override
+        void ascii(char[] chars, int from, int to) {
+            if (size + to - from > buf.length) {
+                flush();
+            }
+            if (to - from > buf.length) {
+                for (int i = from; i < to; i++) {
+                    ascii(chars[i]);
+                }
+                return;
+            }
+            System.arraycopy(chars, from, buf, size, to - from);
+            size += to - from;
+        }
+
+        @Override
+        void text(CharSequence text, int from, int to) {
+            while (from < to) {
+                if (size == buf.length) {
+                    flush();
+                }
+                int end = Math.min(to, from + buf.length - size);
+                if (text instanceof String) {
+                    ((String) text).getChars(from, end, buf, size);
+                    size += end - from;
+                    from = end;
+                }
+                else {
+                    while (from < end) {
+                        buf[size++] = text.charAt(from++);
+                    }
+                }
+            }
+        }
+
+        void flush() {
+            if (builder != null) {
+                builder.append(buf, 0, size);
+            }
+            else {
+                try {
+                    writer.write(buf, 0, size);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            size = 0;
+        }
+
+    }
+
+    /**
+     * Writes UTF-8 encoded JSON through a fixed-size buffer to an {@link OutputStream}, or collects it in chunks.
+     */
+    static class ByteSerializer extends Serializer {
+        static final int DEFAULT_BUFFER_SIZE = 1024;
+        private static final int MAX_CHUNK_SIZE = 1 << 16;
+
+        private final OutputStream out; // Null if the bytes are to be collected instead, see toByteArray().
+        private final List<byte[]> chunks = new ArrayList<>(); // Full buffers collected so far.
+        private int collected;
+        private byte[] buf;
+        private int size;
+
+        ByteSerializer(OutputStream out, int bufferSize) {
+            this.out = out;
+            this.buf = new byte[bufferSize];
+        }
+
+        @Override
+        void ascii(char c) {
+            put(c);
+        }
+
+        @Override
+        void ascii(char[] chars, int from, int to) {
+            for (int i = from; i < to; i++) {
+                put(chars[i]);
+            }
+        }
+
+        @Override
+        void text(CharSequence text, int from, int to) {
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    put(c);
+                }
+                else if (c < 0x800) {
+                    put(0xC0 | c >> 6);
+                    put(0x80 | c & 0x3F);
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    put(0xF0 | codePoint >> 18);
+                    put(0x80 | codePoint >> 12 & 0x3F);
+                    put(0x80 | codePoint >> 6 & 0x3F);
+                    put(0x80 | codePoint & 0x3F);
+                }
+                else if (Character.isSurrogate(c)) { // Unpaired, so there's no way to encode it.
+                    put('?');
+                }
+                else {
+                    put(0xE0 | c >> 12);
+                    put(0x80 | c >> 6 & 0x3F);
+                    put(0x80 | c & 0x3F);
+                }
+            }
+        }
+
+        void flush() {
+            try {
+                out.write(buf, 0, size);
+                size = 0;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] toByteArray() {
+            byte[] bytes = new byte[collected + size];
+            int pos = 0;
+            for (byte[] chunk : chunks) {
+                System.arraycopy(chunk, 0, bytes, pos, chunk.length);
+                pos += chunk.length;
+            }
+            System.arraycopy(buf, 0, bytes, pos, size);
+            return bytes;
+        }
+
+        private void put(int b) {
+            if (size == buf.length) {
+                drain();
+            }
+            buf[size++] = (byte) b;
+        }
+
+        /**
+         * Flushes the full buffer if there is a stream, and otherwise collects it and continues in a bigger one, which
+         * unlike growing a single buffer copies each byte only once, in {@link #toByteArray()}.
+         */
+        private void drain() {
+            if (out != null) {
+                flush();
+                return;
+            }
+            chunks.add(buf);
+            collected += size;
+            buf = new byte[Math.min(buf.length * 2, MAX_CHUNK_SIZE)];
+            size = 0;
+        }
+    }
+
+    /**
+     * Reads values of one Java type straight from a {@link Deserializer}'s source, see
+     * {@link JsonWheel#read(String, Class)}. Computed once per type and cached.
+     */
+    abstract static class Binding {
+        private static final ClassValue<Binding> CACHE = new ClassValue<Binding>() {
+            @Override
+            protected Binding computeValue(Class<?> type) {
+                return create(type);
+            }
+        };
+
+        /**
+         * Reads the value starting at {@code from}, which ends at {@link Deserializer#end} afterwards. {@code depth} is
+         * the number of objects and arrays it's nested in.
+         */
+        abstract Object read(Deserializer deserializer, int from, int depth);
+
+        static Binding of(Type type) {
+            if (type instanceof Class) {
+                return CACHE.get((Class<?>) type);
+            }
+            if (type instanceof ParameterizedType) {
+                Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+                Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+                if (ListBinding.supports(raw)) {
+                    return new ListBinding(of(arguments[0]), null);
+                }
+                if (isConcrete(raw, Collection.class) && arguments.length == 1) {
+                    return ListBinding.collection(of(arguments[0]), raw);
+                }
+                if (raw == Map.class || isConcrete(raw, Map.class) && arguments.length == 2) {
+                    return new MapBinding(of(arguments[1]), raw);
+                }
+                return of(raw);
+            }
+            if (type instanceof GenericArrayType) {
+                Type component = ((GenericArrayType) type).getGenericComponentType();
+                Class<?> raw = component instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) component).getRawType() : Object.class;
+                return new ListBinding(of(component), raw);
+            }
+            if (type instanceof WildcardType) {
+                return of(((WildcardType) type).getUpperBounds()[0]);
+            }
+            return of(Object.class); // Type variable.
+        }
+
+        private static Binding create(Class<?> type) {
+            if (type == Object.class || type == WheelNode.class || type == int[].class || type == long[].class || type == double[].class) {
+                return new TreeBinding(type);
+            }
+            if (ScalarBinding.supports(type)) {
+                return new ScalarBinding(type);
+            }
+            if (ListBinding.supports(type)) {
+                return new ListBinding(of(Object.class), null);
+            }
+            if (isConcrete(type, Collection.class)) {
+                return ListBinding.collection(of(Object.class), type);
+            }
+            if (type == Map.class || isConcrete(type, Map.class)) {
+                return new MapBinding(of(Object.class), type);
+            }
+            if (type.isArray()) {
+                if (type.getComponentType().isPrimitive()) {
+                    throw new JsonWheelException("Cannot bind to " + type.getTypeName());
+                }
+                return new ListBinding(of(type.getComponentType()), type.getComponentType());
+            }
+            if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                throw new JsonWheelException("Cannot bind to " + type.getTypeName());
+            }
+            return new ObjectBinding(type);
+        }
+
+        static JsonWheelException mismatch(Type type, int from) {
+            return new JsonWheelException("Cannot bind value at " + from + " to " + type.getTypeName());
+        }
+
+        /**
+         * Whether {@code type} is a class implementing {@code container}, e.g. a {@link java.util.TreeMap} for a
+         * {@link Map}, rather than an interface or abstract class.
+         */
+        private static boolean isConcrete(Class<?> type, Class<?> container) {
+            return container.isAssignableFrom(type) && !type.isInterface() && !Modifier.isAbstract(type.getModifiers());
+        }
+
+        /**
+         * Returns a handle creating a concrete collection or map through its public no-argument constructor.
+         */
+        static MethodHandle noArgsConstructor(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup()
+                        .findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            }
+            catch (ReflectiveOperationException | RuntimeException e) {
+                throw new JsonWheelException("Cannot bind to " + type.getTypeName() + ": " + e);
+            }
+        }
+
+        /**
+         * Creates a collection or map through the handle from {@link #noArgsConstructor(Class)}, typed as the caller fills it.
+         */
+        @SuppressWarnings("unchecked")
+        static <T> T construct(MethodHandle constructor, Class<?> type) {
+            try {
+                return (T) (Object) constructor.invokeExact();
+            }
+            catch (RuntimeException | Error e) {
+                throw e;
+            }
+            catch (Throwable t) {
+                throw new JsonWheelException("Could not create " + type.getTypeName() + ": " + t);
+            }
+        }
+    }
+
+    /**
+     * Binds strings, numbers, booleans and enums. Only their boxed types take {@code null}.
+     */
+    static class ScalarBinding extends Binding {
+        private final Class<?> type;
+
+        ScalarBinding(Class<?> type) {
+            this.type = type;
+        }
+
+        static boolean supports(Class<?> type) {
+            return type == String.class || type == CharSequence.class || type.isEnum()
+                    || type == boolean.class || type == Boolean.class
+                    || type == int.class || type == Integer.class
+                    || type == long.class || type == Long.class
+                    || type == double.class || type == Double.class
+                    || type == float.class || type == Float.class
+                    || type == BigDecimal.class || type == BigInteger.class || type == Number.class;
+        }
+
+        @Override
+        Object read(Deserializer deserializer, int from, int depth) {
+            Source source = deserializer.source;
+            char c = source.at(from);
+            if (c == 'n') {
+                if (type.isPrimitive()) {
+                    throw mismatch(type, from);
+                }
+                deserializer.end = deserializer.readLiteral(from, "null");
+                return null;
+            }
+            if (c == '"') {
+                if (type == String.class || type == CharSequence.class) {
+                    return deserializer.readScalar(from);
+                }
+                if (type.isEnum()) {
+                    String name = (String) deserializer.readScalar(from);
+                    try {
+                        return constant(type, name);
+                    }
+                    catch (IllegalArgumentException e) {
+                        throw new JsonWheelException("Unknown " + type.getTypeName() + " constant " + name + " at " + from);
+                    }
+                }
+                throw mismatch(type, from);
+            }
+            if (c == 't' || c == 'f') {
+                if (type == boolean.class || type == Boolean.class) {
+                    return deserializer.readScalar(from);
+                }
+                throw mismatch(type, from);
+            }
+            if (!ScalarBinding.supportsNumbers(type)) {
+                throw mismatch(type, from);
+            }
+            if (type == int.class || type == Integer.class) {
+                return (int) readInteger(deserializer, from, type);
+            }
+            if (type == long.class || type == Long.class) {
+                return readInteger(deserializer, from, type);
+            }
+            if (type == double.class || type == Double.class) {
+                return readDecimal(deserializer, from, type);
+            }
+            if (type == float.class || type == Float.class) {
+                return (float) readDecimal(deserializer, from, type);
+            }
+            int to = number(deserializer, from, type);
+            if (type == Number.class) {
+                return deserializer.parseNumber(from, to);
+            }
+            String literal = source.string(from, to);
+            try {
+                return type == BigDecimal.class ? new BigDecimal(literal) : new BigInteger(literal);
+            }
+            catch (NumberFormatException e) {
+                throw new JsonWheelException("Invalid number literal " + literal + " at " + from + ": " + e.getMessage());
+            }
+        }
+
+        /**
+         * Reads the number starting at {@code from} as an integer fitting into the given type, an int or a long. Unlike
+         * {@link Deserializer#parseNumber(int, int)}, there's no need to find the number type which fits best.
+         */
+        static long readInteger(Deserializer deserializer, int from, Class<?> type) {
+            int to = number(deserializer, from, type);
+            boolean isLong = type == long.class || type == Long.class;
+            if (deserializer.parseSimpleNumber(from, to) != Deserializer.SIMPLE_INTEGER
+                    || !isLong && deserializer.simpleInteger != (int) deserializer.simpleInteger) {
+                throw mismatch(type, from);
+            }
+            return deserializer.simpleInteger;
+        }
+
+        /**
+         * Reads the number starting at {@code from} as a double, see {@link #readInteger(Deserializer, int, Class)}.
+         */
+        static double readDecimal(Deserializer deserializer, int from, Class<?> type) {
+            int to = number(deserializer, from, type);
+            switch (deserializer.parseSimpleNumber(from, to)) {
+                case Deserializer.SIMPLE_DECIMAL:
+                    return deserializer.simpleDecimal;
+                case Deserializer.SIMPLE_INTEGER:
+                    return deserializer.simpleInteger;
+                default:
+                    return parseDouble(deserializer.source, from, to);
+            }
+        }
+
+        /**
+         * Returns where the number starting at {@code from} ends, failing for any other value.
+         */
+        private static int number(Deserializer deserializer, int from, Class<?> type) {
+            if (!Deserializer.isNumberStart(deserializer.source.at(from))) {
+                throw mismatch(type, from);
+            }
+            int to = deserializer.readNumber(from);
+            deserializer.end = to;
+            return to;
+        }
+
+        private static double parseDouble(Source source, int from, int to) {
+            String literal = source.string(from, to);
+            try {
+                return Double.parseDouble(literal);
+            }
+            catch (NumberFormatException e) {
+                throw new JsonWheelException("Invalid number literal " + literal + " at " + from + ": " + e.getMessage());
+            }
+        }
+
+        /**
+         * Looks up the enum's constant, confining the cast {@link Enum#valueOf(Class, String)} needs to one place.
+         */
+        @SuppressWarnings("unchecked")
+        private static <E extends Enum<E>> E constant(Class<?> type, String name) {
+            return Enum.valueOf((Class<E>) type, name);
+        }
+
+        private static boolean supportsNumbers(Class<?> type) {
+            return type != String.class && type != CharSequence.class && !type.isEnum() && type != boolean.class && type != Boolean.class;
+        }
+    }
+
+    /**
+     * Binds untyped values, as {@link JsonWheel#read(String)} would read them, and primitive arrays thereof.
+     */
+    static class TreeBinding extends Binding {
+        private final Class<?> type;
+
+        TreeBinding(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        Object read(Deserializer deserializer, int from, int depth) {
+            Object value = deserializer.readValue(from, depth);
+            if (type == Object.class) {
+                return value;
+            }
+            WheelNode node = new WheelNode().setInner(value);
+            if (type == WheelNode.class) {
+                return node;
+            }
+            if (value == null) {
+                return null;
+            }
+            if (!(value instanceof List)) {
+                throw mismatch(type, from);
+            }
+            return type == int[].class ? node.asIntArray() : type == long[].class ? node.asLongArray() : node.asDoubleArray();
+        }
+    }
+
+    /**
+     * Binds arrays to {@link List}s, or to Java arrays of the given component type.
+     */
+    static class ListBinding extends Binding {
+        private final Binding elements;
+        private final Class<?> componentType; // Null for collections.
+        private final Class<?> type;
+        private final MethodHandle constructor; // Of a concrete collection type, null for arrays and lists.
+
+        ListBinding(Binding elements, Class<?> componentType) {
+            this(elements, componentType, componentType != null ? Array.newInstance(componentType, 0).getClass() : List.class, null);
+        }
+
+        private ListBinding(Binding elements, Class<?> componentType, Class<?> type, MethodHandle constructor) {
+            this.elements = elements;
+            this.componentType = componentType;
+            this.type = type;
+            this.constructor = constructor;
+        }
+
+        /**
+         * Binds arrays to a concrete {@link Collection} type, created through its public no-argument constructor.
+         */
+        static ListBinding collection(Binding elements, Class<?> type) {
+            return new ListBinding(elements, null, type, noArgsConstructor(type));
+        }
+
+        static boolean supports(Class<?> type) {
+            return type == List.class || type == ArrayList.class || type == Collection.class || type == Iterable.class;
+        }
+
+        @Override
+        Object read(Deserializer deserializer, int from, int depth) {
+            Source source = deserializer.source;
+            char c = source.at(from);
+            if (c == 'n') {
+                deserializer.end = deserializer.readLiteral(from, "null");
+                return null;
+            }
+            if (c != '[') {
+                throw mismatch(type, from);
+            }
+            deserializer.enter(depth, from, false);
+            Collection<Object> list = constructor != null ? construct(constructor, type) : new ArrayList<>();
+            int delim = deserializer.next(from + 1);
+            if (source.at(delim) != ']') {
+                delim = from;
+                do {
+                    list.add(elements.read(deserializer, deserializer.next(delim + 1), depth + 1));
+                    delim = deserializer.next(deserializer.end + 1);
+                } while (source.at(delim) == ',');
+            }
+            deserializer.end = delim;
+            return componentType != null ? list.toArray((Object[]) Array.newInstance(componentType, list.size())) : list;
+        }
+    }
+
+    /**
+     * Binds objects to {@link Map}s of the given value type, or to a concrete map type created through its public
+     * no-argument constructor.
+     */
+    static class MapBinding extends Binding {
+        private final Binding values;
+        private final Class<?> type;
+        private final MethodHandle constructor; // Null for a plain Map.
+
+        MapBinding(Binding values, Class<?> type) {
+            this.values = values;
+            this.type = type;
+            this.constructor = type != Map.class ? noArgsConstructor(type) : null;
+        }
+
+        @Override
+        Object read(Deserializer deserializer, int from, int depth) {
+            Source source = deserializer.source;
+            char c = source.at(from);
+            if (c == 'n') {
+                deserializer.end = deserializer.readLiteral(from, "null");
+                return null;
+            }
+            if (c != '{') {
+                throw mismatch(type, from);
+            }
+            deserializer.enter(depth, from, true);
+            Map<String, Object> map = constructor != null ? construct(constructor, type) : new FlatMap();
+            int delim = deserializer.next(from + 1);
+            if (source.at(delim) != '}') {
+                delim = from;
+                do {
+                    int keyStart = deserializer.next('"', delim) + 1;
+                    int keyEnd = deserializer.next('"', keyStart) - 1;
+                    String key = Deserializer.parseString(source, keyStart, keyEnd);
+                    map.put(key, values.read(deserializer, deserializer.next(deserializer.next(':', keyEnd + 1) + 1), depth + 1));
+                    delim = deserializer.next(deserializer.end + 1);
+                } while (source.at(delim) == ',');
+            }
+            deserializer.end = delim;
+            return map;
+        }
+    }
+
+    /**
+     * Binds objects to records or other classes. Resolves their properties on first use, so that they may refer to
+     * their own class, and invokes constructors and setters through method handles.
+     */
+    static class ObjectBinding extends Binding {
+        private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+        // Records are only known from Java 16 on.
+        private static final Method IS_RECORD = method(Class.class, "isRecord");
+        private static final Method GET_RECORD_COMPONENTS = method(Class.class, "getRecordComponents");
+
+        private final Class<?> type;
+        private volatile Property[] properties; // In the order keys are expected in.
+        private boolean record;
+        private MethodHandle constructor; // Takes an Object[] of all properties for records, nothing otherwise.
+        private Object[] defaults; // Of the record's properties, for keys which are missing.
+
+        ObjectBinding(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        Object read(Deserializer deserializer, int from, int depth) {
+            Property[] properties = properties();
+            Source source = deserializer.source;
+            char c = source.at(from);
+            if (c == 'n') {
+                deserializer.end = deserializer.readLiteral(from, "null");
+                return null;
+            }
+            if (c != '{') {
+                throw mismatch(type, from);
+            }
+            deserializer.enter(depth, from, true);
+            Object[] args = record ? defaults.clone() : null;
+            Object instance = record ? null : construct(null);
+            int delim = deserializer.next(from + 1);
+            if (source.at(delim) != '}') {
+                int expected = 0; // Keys usually come in the same order, so try the one following the last match first.
+                delim = from;
+                do {
+                    int quote = deserializer.next('"', delim);
+                    int colon = deserializer.next(':', deserializer.next('"', quote + 1) + 1);
+                    int valueStart = deserializer.next(colon + 1);
+                    int index = find(properties, expected, deserializer, quote);
+                    if (index < 0) {
+                        deserializer.end = deserializer.skipValue(valueStart);
+                    }
+                    else {
+                        Property property = properties[index];
+                        Object value = property.binding.read(deserializer, valueStart, depth + 1);
+                        if (record) {
+                            args[index] = value;
+                        }
+                        else {
+                            property.set(instance, value);
+                        }
+                        expected = index + 1;
+                    }
+                    delim = deserializer.next(deserializer.end + 1);
+                } while (source.at(delim) == ',');
+            }
+            deserializer.end = delim;
+            return record ? construct(args) : instance;
+        }
+
+        private static int find(Property[] properties, int expected, Deserializer deserializer, int quote) {
+            for (int i = expected; i < properties.length; i++) {
+                if (deserializer.keyEquals(quote, properties[i].name)) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < expected && i < properties.length; i++) {
+                if (deserializer.keyEquals(quote, properties[i].name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Object construct(Object[] args) {
+            try {
+                return record ? (Object) constructor.invokeExact(args) : (Object) constructor.invokeExact();
+            }
+            catch (RuntimeException | Error e) {
+                throw e;
+            }
+            catch (Throwable t) {
+                throw new JsonWheelException("Could not create " + type.getTypeName() + ": " + t);
+            }
+        }
+
+        private Property[] properties() {
+            Property[] properties = this.properties;
+            if (properties == null) { // Resolving twice on a race does no harm.
+                try {
+                    properties = this.properties = isRecord(type) ? recordProperties() : beanProperties();
+                }
+                catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new JsonWheelException("Cannot bind to " + type.getTypeName() + ": " + e);
+                }
+            }
+            return properties;
+        }
+
+        private Property[] recordProperties() throws ReflectiveOperationException {
+            Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+            Property[] properties = new Property[components.length];
+            Class<?>[] types = new Class<?>[components.length];
+            Object[] defaults = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                Object component = components[i];
+                Class<?> componentClass = component.getClass();
+                String name = (String) componentClass.getMethod("getName").invoke(component);
+                Type genericType = (Type) componentClass.getMethod("getGenericType").invoke(component);
+                types[i] = (Class<?>) componentClass.getMethod("getType").invoke(component);
+                properties[i] = new Property(name, genericType, null);
+                defaults[i] = types[i].isPrimitive() ? Array.get(Array.newInstance(types[i], 1), 0) : null;
+            }
+            Constructor<?> canonical = type.getDeclaredConstructor(types);
+            canonical.setAccessible(true);
+            this.constructor = LOOKUP.unreflectConstructor(canonical)
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            this.defaults = defaults;
+            this.record = true;
+            return properties;
+        }
+
+        /**
+         * Collects fields, in declaration order, and setters, which take precedence over fields of the same name.
+         */
+        private Property[] beanProperties() throws ReflectiveOperationException {
+            Constructor<?> noArgs = type.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            this.constructor = LOOKUP.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+            MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+            Map<String, Property> properties = new LinkedHashMap<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()
+                            || properties.containsKey(field.getName())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    MethodHandle setter = LOOKUP.unreflectSetter(field).asType(setterType);
+                    properties.put(field.getName(), new Property(field.getName(), field.getGenericType(), setter));
+                }
+            }
+            for (Method method : type.getMethods()) {
+                String name = method.getName();
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1 || name.length() < 4 || !name.startsWith("set")) {
+                    continue;
+                }
+                String property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+                MethodHandle setter = LOOKUP.unreflect(method).asType(setterType);
+                properties.put(property, new Property(property, method.getGenericParameterTypes()[0], setter));
+            }
+            return properties.values().toArray(new Property[0]);
+        }
+
+        private static boolean isRecord(Class<?> type) throws ReflectiveOperationException {
+            return IS_RECORD != null && (Boolean) IS_RECORD.invoke(type);
+        }
+
+        private static Method method(Class<?> type, String name) {
+            try {
+                return type.getMethod(name);
+            }
+            catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A record component, or a field or setter of any other class, see {@link ObjectBinding}.
+     */
+    static class Property {
+        final String name;
+        final Binding binding;
+        private final MethodHandle setter; // Takes the instance and the value. Null for record components.
+
+        Property(String name, Type type, MethodHandle setter) {
+            this.name = name;
+            this.binding = Binding.of(type);
+            this.setter = setter;
+        }
+
+        void set(Object instance, Object value) {
+            try {
+                setter.invokeExact(instance, value);
+            }
+            catch (RuntimeException | Error e) {
+                throw e;
+            }
+            catch (Throwable t) {
+                throw new JsonWheelException("Could not set " + name + ": " + t);
+            }
+        }
+    }
+
+    /**
+     * Reads objects of one type through code written for it, e.g. by hand or by a code generator, rather than through
+     * reflection like {@link ObjectBinding}. Implementations go through the keys with an {@link ObjectCursor}, typically
+     * switching over them:
+     *
+     * <pre>{@code
+     * static final ObjectReader<User> USER = new ObjectReader<User>() {
+     *     User read(ObjectCursor object) {
+     *         int id = 0;
+     *         String name = null;
+     *         while (object.next()) {
+     *             switch (object.key()) {
+     *                 case "id": id = object.readInt(); break;
+     *                 case "name": name = object.readString(); break;
+     *             }
+     *         }
+     *         return new User(id, name);
+     *     }
+     * };
+     * }</pre>
+     *
+     * Values which aren't read are skipped.
+     */
+    abstract static class ObjectReader<T> extends Binding {
+        private final ListBinding list = new ListBinding(this, null);
+
+        abstract T read(ObjectCursor object);
+
+        @Override
+        final Object read(Deserializer deserializer, int from, int depth) {
+            char c = deserializer.source.at(from);
+            if (c == 'n') {
+                deserializer.end = deserializer.readLiteral(from, "null");
+                return null;
+            }
+            if (c != '{') {
+                throw new JsonWheelException("Cannot bind value at " + from + " to an object");
+            }
+            deserializer.enter(depth, from, true);
+            ObjectCursor cursor = new ObjectCursor(deserializer, from, depth);
+            T value = read(cursor);
+            while (cursor.next()) { // Skip whatever the implementation left unread.
+            }
+            deserializer.end = cursor.delim;
+            return value;
+        }
+    }
+
+    /**
+     * Goes through an object's keys, and reads or skips their values, see {@link ObjectReader}.
+     */
+    static class ObjectCursor {
+        private final Deserializer deserializer;
+        private final int depth;
+        private int delim; // The brace or comma preceding the current key, or the closing brace once done.
+        private int valueStart = -1;
+        private boolean read = true; // Whether the current value has been read, or there is none.
+        private boolean done;
+        private String key;
+
+        ObjectCursor(Deserializer deserializer, int from, int depth) {
+            this.deserializer = deserializer;
+            this.delim = from;
+            this.depth = depth;
+        }
+
+        /**
+         * Moves to the next key, skipping the current value if it hasn't been read. Returns false after the last key.
+         */
+        boolean next() {
+            if (done) {
+                return false;
+            }
+            Deserializer d = deserializer;
+            if (valueStart < 0) {
+                int first = d.next(delim + 1);
+                if (d.source.at(first) == '}') {
+                    delim = first;
+                    done = true;
+                    return false;
+                }
+            }
+            else {
+                if (!read) {
+                    d.end = d.skipValue(valueStart);
+                }
+                delim = d.next(d.end + 1);
+                if (d.source.at(delim) != ',') {
+                    done = true;
+                    return false;
+                }
+            }
+            int keyStart = d.next('"', delim) + 1;
+            int keyEnd = d.next('"', keyStart) - 1;
+            key = d.intern(keyStart, keyEnd);
+            valueStart = d.next(d.next(':', keyEnd + 1) + 1);
+            read = false;
+            return true;
+        }
+
+        /**
+         * Returns the current key. Keys are interned, so repeated ones don't allocate.
+         */
+        String key() {
+            return key;
+        }
+
+        int readInt() {
+            return (int) ScalarBinding.readInteger(deserializer, value(), int.class);
+        }
+
+        long readLong() {
+            return ScalarBinding.readInteger(deserializer, value(), long.class);
+        }
+
+        double readDouble() {
+            return ScalarBinding.readDecimal(deserializer, value(), double.class);
+        }
+
+        boolean readBoolean() {
+            int from = value();
+            char c = deserializer.source.at(from);
+            if (c != 't' && c != 'f') {
+                throw Binding.mismatch(boolean.class, from);
+            }
+            return (Boolean) deserializer.readScalar(from);
+        }
+
+        /**
+         * Reads a string, or null.
+         */
+        String readString() {
+            int from = value();
+            char c = deserializer.source.at(from);
+            if (c != '"' && c != 'n') {
+                throw Binding.mismatch(String.class, from);
+            }
+            return (String) deserializer.readScalar(from);
+        }
+
+        /**
+         * Reads an object through another reader, or null.
+         */
+        <V> V read(ObjectReader<V> reader) {
+            return (V) reader.read(deserializer, value(), depth + 1);
+        }
+
+        /**
+         * Reads an array of objects through another reader, or null.
+         */
+        <V> List<V> readList(ObjectReader<V> reader) {
+            return (List<V>) reader.list.read(deserializer, value(), depth + 1);
+        }
+
+        /**
+         * Reads the value into the given type, as {@link JsonWheel#read(String, Class)} would.
+         */
+        <V> V read(Class<V> type) {
+            return (V) Binding.of(type).read(deserializer, value(), depth + 1);
+        }
+
+        /**
+         * Reads the value as {@link JsonWheel#read(String)} would.
+         */
+        WheelNode readNode() {
+            return new WheelNode().setInner(deserializer.readValue(value(), depth + 1));
+        }
+
+        private int value() {
+            if (read || done) {
+                throw new JsonWheelException("No value to read at " + valueStart);
+            }
+            read = true;
+            return valueStart;
+        }
+    }
+
+    /**
+     * Receives statistics about the documents read, see {@link JsonWheel#setListener(Listener)}.
+     */
+    interface Listener {
+        /**
+         * Called on the reading thread after each document read successfully. The statistics are reused for the next
+         * document, so must be copied if kept.
+         */
+        void onRead(ReadStats stats);
+    }
+
+    /**
+     * Statistics about reading a single document. Strings only count values, not keys, which are mostly interned.
+     */
+    static class ReadStats {
+        long length; // In chars or bytes, depending on the input.
+        long nanos;
+        int maxDepth;
+        int objects;
+        int arrays;
+        int strings;
+        int numbers;
+        int bigDecimals; // Numbers which didn't fit into a double, and were read exactly instead.
+        int bigIntegers; // Numbers which didn't fit into a long.
+
+        static ReadStats start(ReadStats stats, long length) {
+            if (stats == null) {
+                stats = new ReadStats();
+            }
+            stats.length = length;
+            stats.maxDepth = stats.objects = stats.arrays = stats.strings = stats.numbers = stats.bigDecimals = stats.bigIntegers = 0;
+            stats.nanos = System.nanoTime();
+            return stats;
+        }
+
+        ReadStats finish() {
+            nanos = System.nanoTime() - nanos;
+            return this;
+        }
+
+        /**
+         * Adds the counts of a part of the document, read separately.
+         */
+        void add(ReadStats part) {
+            maxDepth = Math.max(maxDepth, part.maxDepth);
+            objects += part.objects;
+            arrays += part.arrays;
+            strings += part.strings;
+            numbers += part.numbers;
+            bigDecimals += part.bigDecimals;
+            bigIntegers += part.bigIntegers;
+        }
+
+        void opened(int depth, boolean object) {
+            if (object) {
+                objects++;
+            }
+            else {
+                arrays++;
+            }
+            maxDepth = Math.max(maxDepth, depth + 1);
+        }
+
+        void exactly(Number number) {
+            if (number instanceof BigDecimal) {
+                bigDecimals++;
+            }
+            else if (number instanceof BigInteger) {
+                bigIntegers++;
+            }
+        }
+    }
+
+    /**
+     * Sums up the statistics of all documents read, and keeps a histogram of how long reading them took, see
+     * {@link JsonWheel#setListener(Listener)}. May be shared between threads.
+     */
+    static class Metrics implements Listener {
+        final LongAdder documents = new LongAdder();
+        final LongAdder length = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+        final LongAdder objects = new LongAdder();
+        final LongAdder arrays = new LongAdder();
+        final LongAdder strings = new LongAdder();
+        final LongAdder numbers = new LongAdder();
+        final LongAdder bigDecimals = new LongAdder();
+        final LongAdder bigIntegers = new LongAdder();
+        private final AtomicLongArray latencies = new AtomicLongArray(Long.SIZE);
+
+        @Override
+        public void onRead(ReadStats stats) {
+            documents.increment();
+            length.add(stats.length);
+            nanos.add(stats.nanos);
+            maxDepth.accumulate(stats.maxDepth);
+            objects.add(stats.objects);
+            arrays.add(stats.arrays);
+            strings.add(stats.strings);
+            numbers.add(stats.numbers);
+            bigDecimals.add(stats.bigDecimals);
+            bigIntegers.add(stats.bigIntegers);
+            latencies.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(Math.max(stats.nanos, 0)));
+        }
+
+        /**
+         * Returns the number of documents per read duration, bucket {@code i} counting those taking less than
+         * {@code 2^i} but at least {@code 2^(i-1)} nanoseconds.
+         */
+        long[] latencies() {
+            long[] counts = new long[latencies.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = latencies.get(i);
+            }
+            return counts;
+        }
+
+        /**
+         * Returns an upper bound, in nanoseconds, for how long reading the given share of documents took, e.g. 0.99 for
+         * the 99th percentile. Precise to a power of two.
+         */
+        long percentile(double share) {
+            long[] counts = latencies();
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > 0 && seen >= share * total) {
+                    return i == Long.SIZE - 1 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Receives the structure and values of a document as it's read, see {@link JsonWheel#parse(String, Handler)}.
+     * Strings and keys are only valid during the call, as their characters are reused afterwards. Numbers are reported
+     * as longs or doubles, or as {@link BigInteger}s or {@link BigDecimal}s through {@link #onNumber(Number)} if they
+     * don't fit.
+     */
+    interface Handler {
+        default void startObject() {
+        }
+
+        default void key(CharSequence key) {
+        }
+
+        default void endObject() {
+        }
+
+        default void startArray() {
+        }
+
+        default void endArray() {
+        }
+
+        default void onString(CharSequence value) {
+        }
+
+        default void onLong(long value) {
+        }
+
+        default void onDouble(double value) {
+        }
+
+        default void onNumber(Number value) {
+        }
+
+        default void onBoolean(boolean value) {
+        }
+
+        default void onNull() {
         }
     }
 }
@@ -0,0 +1,295 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.WheelNode;
+
+class BindingTest {
+
+    enum Role {
+        ADMIN,
+        USER
+    }
+
+    record Address(String street, String city) {
+    }
+
+    record User(int id, String name, boolean active, double score, Role role, Address address, List<String> tags) {
+    }
+
+    record Numbers(int i, long l, double d, float f, Integer boxed, BigDecimal exact, BigInteger big, Number any) {
+    }
+
+    record Tree(String name, List<Tree> children) {
+    }
+
+    record Branch(List<Branch> children, Object leaf) {
+    }
+
+    record Untyped(Object any, WheelNode node, Map<String, Object> map) {
+    }
+
+    record Arrays(int[] ints, long[] longs, double[] doubles, Address[] addresses, List<Address>[] lists) {
+    }
+
+    static class Generic<T> {
+        T value;
+        List<? extends Number> numbers;
+    }
+
+    record Concrete(TreeMap<String, Address> byName, LinkedList<Integer> queue, TreeSet<String> tags, HashMap<String, Object> extra) {
+    }
+
+    record Validated(int positive) {
+        Validated {
+            if (positive <= 0) {
+                throw new IllegalArgumentException("Not positive: " + positive);
+            }
+        }
+    }
+
+    static class Bean {
+        private String name;
+        int count;
+        transient String ignored;
+        private String viaSetter;
+
+        public void setViaSetter(String viaSetter) {
+            this.viaSetter = viaSetter.toUpperCase();
+        }
+    }
+
+    static class SubBean extends Bean {
+        List<Bean> children;
+    }
+
+    static class NoDefaultConstructor {
+        NoDefaultConstructor(String name) {
+        }
+    }
+
+    @Test
+    void record() {
+        var json = """
+                {
+                    "id": 42,
+                    "name": "Jane \\"JD\\" Doe",
+                    "active": true,
+                    "score": 9.5,
+                    "role": "ADMIN",
+                    "address": {"street": "Straße 1", "city": "Berlin"},
+                    "tags": ["a", "b"]
+                }""";
+
+        var expected = new User(42, "Jane \"JD\" Doe", true, 9.5, Role.ADMIN, new Address("Straße 1", "Berlin"), List.of("a", "b"));
+        assertThat(JsonWheel.read(json, User.class)).isEqualTo(expected);
+        assertThat(JsonWheel.read(json.getBytes(StandardCharsets.UTF_8), User.class)).isEqualTo(expected);
+    }
+
+    @Test
+    void keysInAnyOrder() {
+        var json = """
+                {"tags": [], "address": null, "name": "foo", "id": 1, "active": false, "role": null, "score": 1}""";
+
+        assertThat(JsonWheel.read(json, User.class)).isEqualTo(new User(1, "foo", false, 1.0, null, null, List.of()));
+    }
+
+    @Test
+    void missingKeysLeaveDefaults() {
+        assertThat(JsonWheel.read("{}", User.class)).isEqualTo(new User(0, null, false, 0.0, null, null, null));
+    }
+
+    @Test
+    void unknownKeysAreSkipped() {
+        var json = """
+                {"foo": {"bar": [1, "]}"]}, "id": 7, "baz": null, "qux": "}"}""";
+
+        assertThat(JsonWheel.read(json, User.class).id()).isEqualTo(7);
+    }
+
+    @Test
+    void escapedKeys() {
+        assertThat(JsonWheel.read("{\"\\u0069d\": 7}", User.class).id()).isEqualTo(7);
+    }
+
+    @Test
+    void numbers() {
+        var json = """
+                {"i": -1, "l": 12345678901, "d": 1, "f": 1.5, "boxed": null, "exact": 0.10, "big": 123456789012345678901234567890, "any": 1.5}""";
+
+        assertThat(JsonWheel.read(json, Numbers.class)).isEqualTo(new Numbers(
+                -1, 12345678901L, 1.0, 1.5f, null, new BigDecimal("0.10"), new BigInteger("123456789012345678901234567890"), 1.5));
+    }
+
+    @Test
+    void recursive() {
+        var json = """
+                {"name": "root", "children": [{"name": "leaf", "children": []}]}""";
+
+        assertThat(JsonWheel.read(json, Tree.class)).isEqualTo(new Tree("root", List.of(new Tree("leaf", List.of()))));
+    }
+
+    @Test
+    void untyped() {
+        var json = """
+                {"any": [1, "a"], "node": {"foo": null}, "map": {"a": 1}}""";
+
+        var untyped = JsonWheel.read(json, Untyped.class);
+
+        assertThat(untyped.any()).isEqualTo(List.of(1, "a"));
+        assertThat(untyped.node().get("foo").inner).isNull();
+        assertThat(untyped.map()).isEqualTo(Map.of("a", 1));
+    }
+
+    @Test
+    void arrays() {
+        var json = """
+                {"ints": [1, 2], "longs": [12345678901], "doubles": [1.5, 2], "addresses": [{"city": "Berlin"}], "lists": [[]]}""";
+
+        var arrays = JsonWheel.read(json, Arrays.class);
+
+        assertThat(arrays.ints()).containsExactly(1, 2);
+        assertThat(arrays.longs()).containsExactly(12345678901L);
+        assertThat(arrays.doubles()).containsExactly(1.5, 2.0);
+        assertThat(arrays.addresses()).containsExactly(new Address(null, "Berlin"));
+        assertThat(arrays.lists()).containsExactly(List.of());
+    }
+
+    @Test
+    void concreteCollections() {
+        var json = """
+                {"byName": {"b": {"city": "Berlin"}, "a": {"city": "Aachen"}}, "queue": [2, 1], "tags": ["y", "x", "y"], "extra": {"k": [1]}}""";
+
+        var concrete = JsonWheel.read(json, Concrete.class);
+
+        assertThat(concrete.byName()).containsExactly(Map.entry("a", new Address(null, "Aachen")), Map.entry("b", new Address(null, "Berlin")));
+        assertThat(concrete.queue()).containsExactly(2, 1);
+        assertThat(concrete.tags()).containsExactly("x", "y");
+        assertThat(concrete.extra()).isEqualTo(Map.of("k", List.of(1)));
+        Map<?, ?> linked = JsonWheel.read("{\"b\": 1, \"a\": 2}", LinkedHashMap.class);
+        assertThat(linked).isInstanceOf(LinkedHashMap.class);
+        assertThat(List.copyOf(linked.keySet())).isEqualTo(List.of("b", "a"));
+    }
+
+    @Test
+    void topLevelArray() {
+        assertThat(JsonWheel.read(" [{\"city\": \"Berlin\"}, null] ", Address[].class))
+                .containsExactly(new Address(null, "Berlin"), null);
+    }
+
+    @Test
+    void generic() {
+        Generic<?> generic = JsonWheel.read("{\"value\": {\"a\": true}, \"numbers\": [1, 2.5]}", Generic.class);
+
+        assertThat(generic.value).isEqualTo(Map.of("a", true));
+        assertThat(generic.numbers).isEqualTo(List.of(1, 2.5));
+    }
+
+    @Test
+    void bean() {
+        var json = """
+                {"name": "foo", "count": 3, "ignored": "bar", "viaSetter": "baz", "children": [{"name": "child"}]}""";
+
+        var bean = JsonWheel.read(json, SubBean.class);
+
+        assertThat(((Bean) bean).name).isEqualTo("foo");
+        assertThat(bean.count).isEqualTo(3);
+        assertThat(bean.ignored).isNull();
+        assertThat(((Bean) bean).viaSetter).isEqualTo("BAZ");
+        assertThat(bean.children).hasSize(1);
+        assertThat(bean.children.get(0).name).isEqualTo("child");
+    }
+
+    @Test
+    void nullForPrimitiveFails() {
+        assertThatThrownBy(() -> JsonWheel.read("{\"id\": null}", User.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 7 to int");
+    }
+
+    @Test
+    void typeMismatchFails() {
+        assertThatThrownBy(() -> JsonWheel.read("{\"name\": 1}", User.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 9 to java.lang.String");
+        assertThatThrownBy(() -> JsonWheel.read("{\"id\": 1.5}", User.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 7 to int");
+        assertThatThrownBy(() -> JsonWheel.read("{\"id\": 12345678901}", User.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 7 to int");
+        assertThatThrownBy(() -> JsonWheel.read("[]", User.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 0 to com.romanboehm.jsonwheel.BindingTest$User");
+        assertThatThrownBy(() -> JsonWheel.read("{\"tags\": {}}", User.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 9 to java.util.List");
+    }
+
+    @Test
+    void unknownEnumConstantFails() {
+        assertThatThrownBy(() -> JsonWheel.read("{\"role\": \"GUEST\"}", User.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Unknown com.romanboehm.jsonwheel.BindingTest$Role constant GUEST at 9");
+    }
+
+    @Test
+    void constructorFailuresPropagate() {
+        assertThatThrownBy(() -> JsonWheel.read("{\"positive\": 0}", Validated.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not positive: 0");
+    }
+
+    @Test
+    void unsupportedTypesFail() {
+        assertThatThrownBy(() -> JsonWheel.read("{}", NoDefaultConstructor.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageStartingWith("Cannot bind to com.romanboehm.jsonwheel.BindingTest$NoDefaultConstructor");
+        assertThatThrownBy(() -> JsonWheel.read("[]", char[].class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind to char[]");
+        assertThatThrownBy(() -> JsonWheel.read("[]", Set.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind to java.util.Set");
+        assertThatThrownBy(() -> JsonWheel.read("{}", EnumMap.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageStartingWith("Cannot bind to java.util.EnumMap");
+    }
+
+    @Test
+    void depthIsLimited() {
+        var json = "{\"children\": [".repeat(600) + "]}".repeat(600);
+
+        assertThatThrownBy(() -> JsonWheel.read(json, Tree.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageStartingWith("Nesting deeper than 1024 at ");
+    }
+
+    @Test
+    void untypedValuesCountTowardsDepth() {
+        var branches = "{\"children\": [".repeat(400) + "{\"leaf\": ";
+        var ends = "}" + "]}".repeat(400);
+
+        assertThatThrownBy(() -> JsonWheel.read(branches + "[".repeat(300) + "]".repeat(300) + ends, Branch.class))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageStartingWith("Nesting deeper than 1024 at ");
+        assertThat(JsonWheel.read(branches + "[".repeat(200) + "]".repeat(200) + ends, Branch.class)).isNotNull();
+    }
+}
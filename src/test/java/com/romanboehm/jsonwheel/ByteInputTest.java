@@ -0,0 +1,52 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ByteInputTest {
+
+    @Test
+    void readsNonAsciiAndEscapesFromBytes() {
+        var json = """
+                {
+                    "k1": "Straße",
+                    "k2": "自由 \\"🧪\\"",
+                    "k3": "\\u00dfe\\n"
+                }""";
+
+        var node = JsonWheel.read(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(node.inner).isEqualTo(Map.of(
+                "k1", "Straße",
+                "k2", "自由 \"🧪\"",
+                "k3", "ße\n"));
+    }
+
+    @Test
+    void readsHeapBufferFromPositionToLimit() {
+        var bytes = "xx{\"k\": [1, \"ä\"]}yy".getBytes(StandardCharsets.UTF_8);
+        var buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 4).slice();
+
+        var node = JsonWheel.read(buffer);
+
+        assertThat(node.get("k").elements()).extracting(wn -> wn.inner).containsExactly(1, "ä");
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void readsDirectBufferFromPositionToLimit() {
+        var bytes = "xx\"ä\"yy".getBytes(StandardCharsets.UTF_8);
+        var buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        buffer.position(2).limit(bytes.length - 2);
+
+        var node = JsonWheel.read(buffer);
+
+        assertThat(node.val(String.class)).isEqualTo("ä");
+        assertThat(buffer.position()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,68 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.CharClasses;
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class CharClassesTest {
+
+    @Test
+    void classesAgreeWithCharacterBelow256() {
+        for (char c = 0; c < 256; c++) {
+            assertThat(CharClasses.isWhitespace(c)).as("whitespace %d", (int) c).isEqualTo(Character.isWhitespace(c));
+            assertThat(CharClasses.isLetter(c)).as("letter %d", (int) c).isEqualTo(Character.isLetter(c));
+            assertThat(CharClasses.isDigit(c)).as("digit %d", (int) c).isEqualTo(c >= '0' && c <= '9');
+            assertThat(CharClasses.isNumber(c)).as("number %d", (int) c).isEqualTo(c >= '0' && c <= '9' || "+-.eE".indexOf(c) >= 0);
+            assertThat(CharClasses.hex(c)).as("hex %d", (int) c).isEqualTo(Character.digit(c, 16) >= 0 && c < 128 ? Character.digit(c, 16) : -1);
+        }
+    }
+
+    @Test
+    void charactersAbove255HaveNoClass() {
+        assertThat(CharClasses.isWhitespace('\u3000')).isFalse();
+        assertThat(CharClasses.isLetter('é' + 256)).isFalse();
+        assertThat(CharClasses.isDigit('\u0663')).isFalse(); // Arabic-Indic three.
+        assertThat(CharClasses.hex('\uff10')).isEqualTo(-1); // Fullwidth zero.
+        assertThat(CharClasses.isWhitespace(-1)).isFalse(); // End of input.
+    }
+
+    @Test
+    void unescape() {
+        assertThat(CharClasses.unescape('n')).isEqualTo('\n');
+        assertThat(CharClasses.unescape('"')).isEqualTo('"');
+        assertThat(CharClasses.unescape('/')).isEqualTo('/');
+        assertThat(CharClasses.unescape('u')).isEqualTo('\0');
+        assertThat(CharClasses.unescape('x')).isEqualTo('\0');
+        assertThat(CharClasses.unescape('é')).isEqualTo('\0');
+    }
+
+    @Test
+    void codepoints() {
+        var json = "[\"\\u00e9\\u00C9\\uD83D\\ude00\\u0000\\ud800x\"]";
+
+        assertThat(JsonWheel.read(json).elements().get(0).inner).isEqualTo("éÉ😀\0\ud800x");
+        assertThat(JsonWheel.read(json.getBytes(StandardCharsets.UTF_8)).elements().get(0).inner).isEqualTo("éÉ😀\0\ud800x");
+    }
+
+    @Test
+    void invalidCodepointsFail() {
+        for (var invalid : new String[]{ "\\u00g9", "\\u+123", "\\u-123", "\\u12", "\\u" }) {
+            assertThatThrownBy(() -> JsonWheel.read("\"" + invalid + "\""))
+                    .isInstanceOf(JsonWheelException.class)
+                    .hasMessage("Invalid codepoint at 2");
+        }
+    }
+
+    @Test
+    void invalidEscapeFails() {
+        assertThatThrownBy(() -> JsonWheel.read("\"\\x\""))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Invalid escape sequence at 2: x");
+    }
+}
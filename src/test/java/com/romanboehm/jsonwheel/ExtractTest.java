@@ -0,0 +1,84 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class ExtractTest {
+
+    private static final String JSON = """
+            {
+                "meta": {"skipped": [{"a": "}]"}, "\\"{["], "count": 3},
+                "data": {
+                    "items": [
+                        {"id": 1, "name": "one", "tags": ["a", "b"]},
+                        {"name": "two", "id": 2},
+                        {"id": {"nested": true}}
+                    ]
+                }
+            }""";
+
+    @Test
+    void wildcard() {
+        var extracted = JsonWheel.extract(JSON, "$.data.items[*].id");
+
+        assertThat(extracted.get("$.data.items[*].id"))
+                .extracting(wn -> wn.inner)
+                .containsExactly(1, 2, Map.of("nested", true));
+    }
+
+    @Test
+    void multiplePaths() {
+        var extracted = JsonWheel.extract(JSON.getBytes(StandardCharsets.UTF_8), "meta.count", "data.items[1].name", "data.items[0].tags[*]");
+
+        assertThat(extracted).containsOnlyKeys("meta.count", "data.items[1].name", "data.items[0].tags[*]");
+        assertThat(extracted.get("meta.count")).extracting(wn -> wn.inner).containsExactly(3);
+        assertThat(extracted.get("data.items[1].name")).extracting(wn -> wn.inner).containsExactly("two");
+        assertThat(extracted.get("data.items[0].tags[*]")).extracting(wn -> wn.inner).containsExactly("a", "b");
+    }
+
+    @Test
+    void prefixPaths() {
+        var extracted = JsonWheel.extract(JSON, "data.items[0]", "data.items[0].name");
+
+        assertThat(extracted.get("data.items[0]")).extracting(wn -> wn.inner)
+                .containsExactly(Map.of("id", 1, "name", "one", "tags", List.of("a", "b")));
+        assertThat(extracted.get("data.items[0].name")).extracting(wn -> wn.inner).containsExactly("one");
+    }
+
+    @Test
+    void objectWildcard() {
+        var extracted = JsonWheel.extract("{\"a\": {\"x\": 1}, \"b\": {\"x\": 2}, \"c\": 3}", "*.x");
+
+        assertThat(extracted.get("*.x")).extracting(wn -> wn.inner).containsExactly(1, 2);
+    }
+
+    @Test
+    void root() {
+        var extracted = JsonWheel.extract("[1, 2]", "$");
+
+        assertThat(extracted.get("$")).extracting(wn -> wn.inner).containsExactly(List.of(1, 2));
+    }
+
+    @Test
+    void noMatch() {
+        var extracted = JsonWheel.extract(JSON, "data.missing", "data.items[3]", "meta.count.deeper");
+
+        assertThat(extracted.values()).allSatisfy(matches -> assertThat(matches).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "data[", "data[x]", "data..items", "data." })
+    void invalidPath(String path) {
+        assertThatThrownBy(() -> JsonWheel.extract(JSON, path)).isInstanceOf(JsonWheelException.class);
+    }
+}
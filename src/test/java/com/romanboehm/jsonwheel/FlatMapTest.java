@@ -0,0 +1,60 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.romanboehm.jsonwheel.JsonWheel.FlatMap;
+
+class FlatMapTest {
+
+    @ParameterizedTest(name = "{0} entries")
+    @ValueSource(ints = { 0, 1, 8, 9, 100 })
+    void behavesLikeLinkedHashMap(int entries) {
+        var map = new FlatMap();
+        var reference = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < entries; i++) {
+            assertThat(map.put("k" + i, i)).isEqualTo(reference.put("k" + i, i));
+        }
+        for (int i = 0; i < entries; i += 3) {
+            assertThat(map.put("k" + i, "overwritten")).isEqualTo(reference.put("k" + i, "overwritten"));
+        }
+        for (int i = 1; i < entries; i += 4) {
+            assertThat(map.remove("k" + i)).isEqualTo(reference.remove("k" + i));
+        }
+        map.entrySet().removeIf(e -> e.getKey().endsWith("7"));
+        reference.entrySet().removeIf(e -> e.getKey().endsWith("7"));
+        map.entrySet().forEach(e -> e.setValue(e.getValue() + "!"));
+        reference.entrySet().forEach(e -> e.setValue(e.getValue() + "!"));
+
+        assertThat(map).containsExactlyEntriesOf(reference);
+        assertThat(map).isEqualTo(new HashMap<>(reference));
+        assertThat(map.hashCode()).isEqualTo(reference.hashCode());
+        assertThat(map.get("missing")).isNull();
+        assertThat(map.get(null)).isNull();
+        assertThat(map.containsKey("k0")).isEqualTo(reference.containsKey("k0"));
+    }
+
+    @ParameterizedTest(name = "{0} fields")
+    @ValueSource(ints = { 3, 50 })
+    void lastDuplicateKeyWins(int fields) {
+        var json = new StringBuilder("{\"dup\": 0");
+        for (int i = 0; i < fields; i++) {
+            json.append(", \"k").append(i).append("\": ").append(i);
+        }
+        json.append(", \"dup\": 1}");
+
+        var node = JsonWheel.read(json.toString());
+
+        assertThat(node.inner).isInstanceOf(FlatMap.class);
+        assertThat(node.get("dup").val(Integer.class)).isEqualTo(1);
+        Map<?, ?> map = node.val(Map.class);
+        assertThat(map).hasSize(fields + 1);
+        assertThat(map.keySet()).first().isEqualTo("dup");
+    }
+}
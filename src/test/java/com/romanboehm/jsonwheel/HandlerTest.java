@@ -0,0 +1,197 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.romanboehm.jsonwheel.JsonWheel.Handler;
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class HandlerTest {
+
+    /**
+     * Records all events as strings.
+     */
+    private static class Events implements Handler {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startObject() {
+            events.add("{");
+        }
+
+        @Override
+        public void key(CharSequence key) {
+            events.add("key " + key);
+        }
+
+        @Override
+        public void endObject() {
+            events.add("}");
+        }
+
+        @Override
+        public void startArray() {
+            events.add("[");
+        }
+
+        @Override
+        public void endArray() {
+            events.add("]");
+        }
+
+        @Override
+        public void onString(CharSequence value) {
+            events.add("string " + value);
+        }
+
+        @Override
+        public void onLong(long value) {
+            events.add("long " + value);
+        }
+
+        @Override
+        public void onDouble(double value) {
+            events.add("double " + value);
+        }
+
+        @Override
+        public void onNumber(Number value) {
+            events.add(value.getClass().getSimpleName() + " " + value);
+        }
+
+        @Override
+        public void onBoolean(boolean value) {
+            events.add("boolean " + value);
+        }
+
+        @Override
+        public void onNull() {
+            events.add("null");
+        }
+    }
+
+    private static final String JSON = """
+            {"a": [1, -2.5, "b"], "c": {"d": true, "e": false}, "f": null, "g": 12345678901}""";
+
+    private static final List<String> EXPECTED = List.of(
+            "{", "key a", "[", "long 1", "double -2.5", "string b", "]",
+            "key c", "{", "key d", "boolean true", "key e", "boolean false", "}",
+            "key f", "null", "key g", "long 12345678901", "}");
+
+    private static List<String> events(String json) {
+        var events = new Events();
+        JsonWheel.parse(json, events);
+        return events.events;
+    }
+
+    @Test
+    void events() {
+        assertThat(events(JSON)).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void allInputs(@TempDir Path dir) throws Exception {
+        var bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        var file = Files.write(dir.resolve("test.json"), bytes);
+        var parser = JsonWheel.parser();
+
+        for (var parse : List.<Consumer<Handler>> of(
+                handler -> JsonWheel.parse(bytes, handler),
+                handler -> JsonWheel.parse(ByteBuffer.wrap(bytes), handler),
+                handler -> JsonWheel.parse(file, handler),
+                handler -> parser.parse(JSON, handler),
+                handler -> parser.parse(bytes, handler))) {
+            var events = new Events();
+            parse.accept(events);
+            assertThat(events.events).isEqualTo(EXPECTED);
+        }
+    }
+
+    @Test
+    void scalars() {
+        assertThat(events(" 1 ")).containsExactly("long 1");
+        assertThat(events("\"a\"")).containsExactly("string a");
+        assertThat(events("null")).containsExactly("null");
+    }
+
+    @Test
+    void emptyContainers() {
+        assertThat(events("{\"a\": {}, \"b\": [ ], \"c\": [{}]}")).containsExactly(
+                "{", "key a", "{", "}", "key b", "[", "]", "key c", "[", "{", "}", "]", "}");
+        assertThat(events("[]")).containsExactly("[", "]");
+    }
+
+    @Test
+    void escapes() {
+        var json = "{\"k\\u00e9y\": \"a\\\"b\\\\c\\nd\\u00e9\\ud83d\\ude00\", \"\": \"\"}";
+
+        assertThat(events(json)).containsExactly("{", "key kéy", "string a\"b\\c\ndé😀", "key ", "string ", "}");
+    }
+
+    @Test
+    void utf8() {
+        var json = "[\"Straße\", \"日本\", \"😀\"]";
+        var events = new Events();
+
+        JsonWheel.parse(json.getBytes(StandardCharsets.UTF_8), events);
+
+        assertThat(events.events).containsExactly("[", "string Straße", "string 日本", "string 😀", "]");
+    }
+
+    @Test
+    void bigNumbers() {
+        assertThat(events("[123456789012345678901234567890, 1e400, 0.1, 1E2]")).containsExactly(
+                "[", "BigInteger " + new BigInteger("123456789012345678901234567890"), "BigDecimal " + new BigDecimal("1e400"),
+                "double 0.1", "double 100.0", "]");
+    }
+
+    @Test
+    void stringsAreReused() {
+        var strings = new ArrayList<CharSequence>();
+        JsonWheel.parse("[\"a\", \"b\"]", new Handler() {
+            @Override
+            public void onString(CharSequence value) {
+                strings.add(value);
+            }
+        });
+
+        assertThat(strings).hasSize(2);
+        assertThat(strings.get(0)).isSameAs(strings.get(1));
+    }
+
+    @Test
+    void defaultsIgnoreEverything() {
+        JsonWheel.parse(JSON, new Handler() {
+        });
+    }
+
+    @Test
+    void depthIsLimited() {
+        var json = "[".repeat(1025) + "1" + "]".repeat(1025);
+
+        assertThatThrownBy(() -> JsonWheel.parse(json, new Events()))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Nesting deeper than 1024 at 1024");
+        assertThat(events("[".repeat(1024) + "1" + "]".repeat(1024))).hasSize(2049);
+    }
+
+    @Test
+    void invalidLiteralFails() {
+        assertThatThrownBy(() -> JsonWheel.parse("[tru]", new Events()))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageStartingWith("Invalid literal 'tru' at 1");
+    }
+}
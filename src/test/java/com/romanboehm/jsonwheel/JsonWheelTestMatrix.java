@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +28,33 @@ abstract class JsonWheelTestMatrix {
         assertThat(actual.inner).isEqualTo(arg.expected);
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("args")
+    void topLevelFromBytes(Arg arg) {
+        var actual = JsonWheel.read(arg.in.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(actual.inner).isEqualTo(arg.expected);
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("args")
+    void topLevelFromDirectByteBuffer(Arg arg) {
+        var bytes = arg.in.getBytes(StandardCharsets.UTF_8);
+        var buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        var actual = JsonWheel.read(buffer);
+
+        assertThat(actual.inner).isEqualTo(arg.expected);
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("args")
+    void topLevelLazy(Arg arg) {
+        var actual = JsonWheel.readLazy(arg.in);
+
+        assertThat(actual.val(Object.class)).isEqualTo(arg.expected);
+    }
+
     @ParameterizedTest(name = "{index}: {0}")
     @MethodSource("args")
     void asSingleValueInObject(Arg arg) {
@@ -80,6 +109,22 @@ abstract class JsonWheelTestMatrix {
                         entry("k3", false));
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("args")
+    void asValueInObjectMiddleLazy(Arg arg) {
+        var json = """
+                {
+                    "k1": false,
+                    "k2": %s,
+                    "k3": false
+                }""".formatted(arg.in);
+
+        var actual = JsonWheel.readLazy(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(actual.get("k2").val(Object.class)).isEqualTo(arg.expected);
+        assertThat(actual.get("k3").val(Object.class)).isEqualTo(false);
+    }
+
     @ParameterizedTest(name = "{index}: {0}")
     @MethodSource("args")
     void asValueInObjectEnd(Arg arg) {
@@ -158,6 +203,21 @@ abstract class JsonWheelTestMatrix {
         assertThat(actual.inner).isEqualTo(Arrays.asList(null, arg.expected, null));
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("args")
+    void asValueInArrayMiddleLazy(Arg arg) {
+        var json = """
+                [
+                    null,
+                    %s,
+                    null
+                ]""".formatted(arg.in);
+
+        var actual = JsonWheel.readLazy(json);
+
+        assertThat(actual.elements()).extracting(wn -> wn.val(Object.class)).containsExactly(null, arg.expected, null);
+    }
+
     record Arg(String in, Object expected) {
     }
 }
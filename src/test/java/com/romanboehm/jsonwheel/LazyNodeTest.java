@@ -0,0 +1,84 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class LazyNodeTest {
+
+    @Test
+    void access() {
+        var json = """
+                {
+                    "foo": {
+                        "skipped": [{"a": [1, 2, {"b": "c"}]}, "\\"}]"],
+                        "bar": [
+                            1,
+                            {"k1": "v1"},
+                            3
+                        ],
+                        "baz": "qux"
+                    }
+                }""";
+
+        var node = JsonWheel.readLazy(json);
+
+        var bar = node.get("foo").get("bar").elements();
+        assertThat(bar).hasSize(3);
+        assertThat(bar.get(0).val(Integer.class)).isEqualTo(1);
+        assertThat(bar.get(1).get("k1").val(String.class)).isEqualTo("v1");
+        assertThat(bar.get(2).val(Integer.class)).isEqualTo(3);
+        assertThat(node.get("foo").get("baz").val(String.class)).isEqualTo("qux");
+    }
+
+    @Test
+    void materializeSubtree() {
+        var json = """
+                {"foo": {"bar": [1, 2]}}""";
+
+        var node = JsonWheel.readLazy(json);
+
+        assertThat(node.get("foo").val(Object.class)).isEqualTo(JsonWheel.read(json).get("foo").inner);
+    }
+
+    @Test
+    void missingKey() {
+        var node = JsonWheel.readLazy("{\"foo\": 1}");
+
+        assertThat(node.get("bar").val(Object.class)).isNull();
+        assertThat(node.get("fo").val(Object.class)).isNull();
+        assertThat(node.get("fooo").val(Object.class)).isNull();
+    }
+
+    @Test
+    void lastDuplicateKeyWins() {
+        var node = JsonWheel.readLazy("{\"foo\": 1, \"foo\": 2}");
+
+        assertThat(node.get("foo").val(Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void escapedAndNonAsciiKeys() {
+        var json = """
+                {"qu\\"ote": 1, "Straße": 2, "\\u81ea\\u7531": 3}""";
+
+        for (var node : new JsonWheel.WheelNode[]{ JsonWheel.readLazy(json), JsonWheel.readLazy(json.getBytes(StandardCharsets.UTF_8)) }) {
+            assertThat(node.get("qu\"ote").val(Integer.class)).isEqualTo(1);
+            assertThat(node.get("Straße").val(Integer.class)).isEqualTo(2);
+            assertThat(node.get("自由").val(Integer.class)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void wrongAccess() {
+        var node = JsonWheel.readLazy("{\"foo\": [1]}");
+
+        assertThatThrownBy(() -> node.elements()).isInstanceOf(JsonWheelException.class);
+        assertThatThrownBy(() -> node.get("foo").get("bar")).isInstanceOf(JsonWheelException.class);
+    }
+}
@@ -0,0 +1,136 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.LineSpliterator;
+import com.romanboehm.jsonwheel.JsonWheel.WheelNode;
+
+class LinesTest {
+
+    private static final int LINES = 10_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsOneDocumentPerLine() {
+        var json = "{\"foo\": 1}\n[2, 3]\n\"bar\"".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(JsonWheel.readLines(json).map(node -> node.inner))
+                .containsExactly(Map.of("foo", 1), List.of(2, 3), "bar");
+    }
+
+    @Test
+    void skipsBlankLinesAndCarriageReturns() {
+        var json = "\n  {\"foo\": 1}  \r\n\r\n\t\n[2]\r\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(JsonWheel.readLines(json).map(node -> node.inner)).containsExactly(Map.of("foo", 1), List.of(2));
+    }
+
+    @Test
+    void empty() {
+        assertThat(JsonWheel.readLines(new byte[0])).isEmpty();
+        assertThat(JsonWheel.readLines("\n\n".getBytes(StandardCharsets.UTF_8))).isEmpty();
+    }
+
+    @Test
+    void readsFromBufferPosition() {
+        var bytes = "xx[1]\n[2]".getBytes(StandardCharsets.UTF_8);
+        var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        direct.position(2);
+
+        assertThat(JsonWheel.readLines(ByteBuffer.wrap(bytes, 2, bytes.length - 2)).map(node -> node.inner))
+                .containsExactly(List.of(1), List.of(2));
+        assertThat(JsonWheel.readLines(direct).map(node -> node.inner)).containsExactly(List.of(1), List.of(2));
+        assertThat(direct.position()).isEqualTo(2);
+    }
+
+    @Test
+    void readsInParallelKeepingOrder() {
+        var json = lines().getBytes(StandardCharsets.UTF_8);
+
+        var ids = JsonWheel.readLines(json).parallel().map(LinesTest::id).collect(Collectors.toList());
+
+        assertThat(ids).containsExactlyElementsOf(IntStream.range(0, LINES).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void readsFile() throws IOException {
+        var file = Files.writeString(dir.resolve("lines.ndjson"), lines());
+
+        var ids = JsonWheel.readLines(file).parallel().map(LinesTest::id).collect(Collectors.toList());
+
+        assertThat(ids).containsExactlyElementsOf(IntStream.range(0, LINES).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void readsFileOnThreads() throws IOException {
+        var file = Files.writeString(dir.resolve("lines.ndjson"), lines());
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        JsonWheel.readLines(file, 4, node -> {
+            ids.add(id(node));
+            threads.add(Thread.currentThread().getName());
+        });
+
+        assertThat(ids).hasSize(LINES);
+        assertThat(threads).hasSizeBetween(1, 4);
+    }
+
+    @Test
+    void failsOnThreads() throws IOException {
+        var file = Files.writeString(dir.resolve("lines.ndjson"), lines() + "{\"id\": tru}\n");
+
+        assertThatThrownBy(() -> JsonWheel.readLines(file, 4, node -> {
+        })).isInstanceOf(JsonWheelException.class);
+    }
+
+    @Test
+    void mapsRegionsEndingWithCompleteLines() throws IOException {
+        var file = Files.writeString(dir.resolve("lines.ndjson"), "[1]\n[22]\n[333]\n[4444]");
+
+        var regions = LineSpliterator.map(file, 10);
+
+        assertThat(regions).extracting(region -> StandardCharsets.UTF_8.decode(region.duplicate()).toString())
+                .containsExactly("[1]\n[22]\n", "[333]\n", "[4444]");
+        assertThat(JsonWheel.readLines(file).map(node -> node.inner))
+                .containsExactly(List.of(1), List.of(22), List.of(333), List.of(4444));
+    }
+
+    @Test
+    void lineLongerThanRegion() throws IOException {
+        var file = Files.writeString(dir.resolve("lines.ndjson"), "[1]\n[1234567890]\n");
+
+        assertThatThrownBy(() -> LineSpliterator.map(file, 10))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Line longer than 10 bytes at 4");
+    }
+
+    private static String lines() {
+        return IntStream.range(0, LINES)
+                .mapToObj(i -> "{\"id\": " + i + ", \"name\": \"user " + i + "\", \"tags\": [\"a\", \"b\"]}")
+                .collect(Collectors.joining("\n", "", "\n"));
+    }
+
+    private static int id(WheelNode node) {
+        return node.get("id").val(Integer.class);
+    }
+}
@@ -0,0 +1,144 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.Metrics;
+import com.romanboehm.jsonwheel.JsonWheel.ReadStats;
+
+class ListenerTest {
+
+    private static final String JSON = """
+            {"a": [1, 2.5, "b", {}], "c": {"d": [[]], "e": 1e400, "f": 123456789012345678901234567890}, "g": null}""";
+
+    /**
+     * Copies the reused statistics.
+     */
+    private record Stats(long length, long nanos, int maxDepth, int objects, int arrays, int strings, int numbers, int bigDecimals, int bigIntegers) {
+        Stats(ReadStats stats) {
+            this(stats.length, stats.nanos, stats.maxDepth, stats.objects, stats.arrays, stats.strings, stats.numbers, stats.bigDecimals, stats.bigIntegers);
+        }
+    }
+
+    private final List<Stats> reported = new ArrayList<>();
+
+    @AfterEach
+    void removeListener() {
+        JsonWheel.setListener(null);
+    }
+
+    @Test
+    void read() {
+        JsonWheel.setListener(stats -> reported.add(new Stats(stats)));
+
+        JsonWheel.read(JSON);
+
+        assertThat(reported).hasSize(1);
+        var stats = reported.get(0);
+        assertThat(stats.length()).isEqualTo(JSON.length());
+        assertThat(stats.nanos()).isPositive();
+        assertThat(stats.maxDepth()).isEqualTo(4);
+        assertThat(stats.objects()).isEqualTo(3);
+        assertThat(stats.arrays()).isEqualTo(3);
+        assertThat(stats.strings()).isEqualTo(1);
+        assertThat(stats.numbers()).isEqualTo(4);
+        assertThat(stats.bigDecimals()).isEqualTo(1);
+        assertThat(stats.bigIntegers()).isEqualTo(1);
+    }
+
+    @Test
+    void allReads() {
+        JsonWheel.setListener(stats -> reported.add(new Stats(stats)));
+        var bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        var parser = JsonWheel.parser();
+
+        JsonWheel.read(bytes);
+        parser.read(JSON);
+        parser.read(bytes);
+        JsonWheel.read("{\"a\": [1, 2]}", Object.class);
+        JsonWheel.readLines(bytes).forEach(node -> {
+        });
+
+        assertThat(reported).extracting(Stats::objects).containsExactly(3, 3, 3, 1, 3);
+        assertThat(reported).extracting(Stats::length).containsExactly((long) bytes.length, (long) JSON.length(), (long) bytes.length, 13L, (long) bytes.length);
+    }
+
+    @Test
+    void bind() {
+        record Foo(List<Integer> a, String b) {
+        }
+        JsonWheel.setListener(stats -> reported.add(new Stats(stats)));
+
+        var json = "{\"a\": [1, 2], \"b\": \"c\"}";
+        JsonWheel.read(json, Foo.class);
+
+        assertThat(reported).containsExactly(new Stats(json.length(), reported.get(0).nanos(), 2, 1, 1, 1, 2, 0, 0));
+    }
+
+    @Test
+    void failedReadsAreNotReported() {
+        JsonWheel.setListener(stats -> reported.add(new Stats(stats)));
+
+        assertThatThrownBy(() -> JsonWheel.read("[tru]")).isInstanceOf(JsonWheelException.class);
+
+        assertThat(reported).isEmpty();
+    }
+
+    @Test
+    void noListener() {
+        JsonWheel.setListener(stats -> reported.add(new Stats(stats)));
+        JsonWheel.setListener(null);
+
+        JsonWheel.read(JSON);
+
+        assertThat(reported).isEmpty();
+    }
+
+    @Test
+    void metrics() {
+        var metrics = new Metrics();
+        JsonWheel.setListener(metrics);
+
+        for (int i = 0; i < 10; i++) {
+            JsonWheel.read(JSON);
+        }
+        JsonWheel.read("[[[[[]]]]]");
+
+        assertThat(metrics.documents.sum()).isEqualTo(11);
+        assertThat(metrics.length.sum()).isEqualTo(10L * JSON.length() + 10);
+        assertThat(metrics.nanos.sum()).isPositive();
+        assertThat(metrics.maxDepth.get()).isEqualTo(5);
+        assertThat(metrics.objects.sum()).isEqualTo(30);
+        assertThat(metrics.arrays.sum()).isEqualTo(35);
+        assertThat(metrics.strings.sum()).isEqualTo(10);
+        assertThat(metrics.numbers.sum()).isEqualTo(40);
+        assertThat(metrics.bigDecimals.sum()).isEqualTo(10);
+        assertThat(metrics.bigIntegers.sum()).isEqualTo(10);
+        assertThat(metrics.latencies()).hasSize(64);
+        assertThat(Arrays.stream(metrics.latencies()).sum()).isEqualTo(11);
+    }
+
+    @Test
+    void percentiles() {
+        var metrics = new Metrics();
+        for (long nanos : new long[]{ 100, 100, 100, 1000, 1_000_000 }) {
+            var stats = ReadStats.start(null, 0);
+            stats.nanos = nanos;
+            metrics.onRead(stats);
+        }
+
+        assertThat(metrics.percentile(0.5)).isEqualTo(128);
+        assertThat(metrics.percentile(0.8)).isEqualTo(1024);
+        assertThat(metrics.percentile(1)).isEqualTo(1 << 20);
+        assertThat(new Metrics().percentile(0.5)).isZero();
+    }
+}
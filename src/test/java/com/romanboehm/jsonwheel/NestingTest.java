@@ -0,0 +1,81 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.CharSource;
+import com.romanboehm.jsonwheel.JsonWheel.Deserializer;
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class NestingTest {
+
+    @Test
+    void upToDefaultMaxDepth() {
+        var json = nested(Deserializer.DEFAULT_MAX_DEPTH);
+
+        var node = JsonWheel.read(json);
+
+        for (int i = 1; i < Deserializer.DEFAULT_MAX_DEPTH; i++) {
+            node = i % 2 == 0 ? node.elements().get(0) : node.get("a");
+        }
+        assertThat(node.inner).isEqualTo(List.of(1));
+    }
+
+    @Test
+    void beyondDefaultMaxDepth() {
+        var json = nested(Deserializer.DEFAULT_MAX_DEPTH + 1);
+
+        assertThatThrownBy(() -> JsonWheel.read(json))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageContaining("Nesting deeper than " + Deserializer.DEFAULT_MAX_DEPTH);
+        assertThatThrownBy(() -> JsonWheel.readLazy(json))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageContaining("Nesting deeper than " + Deserializer.DEFAULT_MAX_DEPTH);
+    }
+
+    @Test
+    void farBeyondThreadStack() {
+        var json = "[".repeat(1_000_000) + "]".repeat(1_000_000);
+
+        assertThatThrownBy(() -> JsonWheel.read(json)).isInstanceOf(JsonWheelException.class);
+        assertThatThrownBy(() -> JsonWheel.readLazy(json)).isInstanceOf(JsonWheelException.class);
+    }
+
+    @Test
+    void customMaxDepth() {
+        var json = nested(3);
+
+        assertThat(new Deserializer(new CharSource(json.toCharArray()), null, 3).readInternal().inner)
+                .isEqualTo(List.of(Map.of("a", List.of(1))));
+        assertThatThrownBy(() -> new Deserializer(new CharSource(json.toCharArray()), null, 2).readInternal())
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Nesting deeper than 2 at 7");
+    }
+
+    @Test
+    void readAfterFailedRead() {
+        var node = JsonWheel.readLazy("[{\"a\": [1, 2, \"\\x\"]}, [3, 4, {\"b\": []}]]");
+
+        assertThatThrownBy(() -> node.elements().get(0).val(Object.class)).isInstanceOf(JsonWheelException.class);
+        assertThat(node.elements().get(1).val(Object.class)).isEqualTo(List.of(3, 4, Map.of("b", List.of())));
+    }
+
+    /**
+     * Alternately nests arrays and objects, with the innermost being an array.
+     */
+    private static String nested(int depth) {
+        var open = new StringBuilder();
+        var close = new StringBuilder();
+        for (int i = depth; i > 0; i--) {
+            boolean array = i % 2 == 1;
+            open.append(array ? "[" : "{\"a\": ");
+            close.insert(0, array ? "]" : "}");
+        }
+        return open + "1" + close;
+    }
+}
@@ -0,0 +1,55 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class NumberParsingTest {
+
+    // Type selection as done before parsing numbers gained its fast paths.
+    private static Number reference(String n) {
+        if (n.contains(".") || n.toLowerCase().contains("e")) {
+            var bd = new BigDecimal(n);
+            var dv = bd.doubleValue();
+            if (!Double.isInfinite(dv) && bd.compareTo(BigDecimal.valueOf(dv)) == 0) {
+                return Double.parseDouble(n);
+            }
+            // Before JDK 19, Double.toString isn't always the shortest representation (JDK-4511638), which made the check
+            // above fail for some doubles. Up to 15 significant digits always survive the round trip through a normal double.
+            if (bd.stripTrailingZeros().precision() <= 15 && Math.abs(dv) >= Double.MIN_NORMAL && !Double.isInfinite(dv)) {
+                return dv;
+            }
+            return bd;
+        }
+        var bi = new BigInteger(n);
+        if (bi.compareTo(BigInteger.valueOf(bi.intValue())) == 0) {
+            return Integer.parseInt(n);
+        }
+        if (bi.compareTo(BigInteger.valueOf(bi.longValue())) == 0) {
+            return Long.parseLong(n);
+        }
+        return bi;
+    }
+
+    @Test
+    void matchesReferenceForRandomLiterals() {
+        var random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            var literal = switch (i % 5) {
+                case 0 -> Integer.toString(random.nextInt());
+                case 1 -> Long.toString(random.nextLong());
+                case 2 -> Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+                case 3 -> "%d.%de%d".formatted(random.nextInt(100_000), random.nextInt(1_000_000_000), random.nextInt(60) - 30);
+                default -> "%s%d.%d".formatted(random.nextBoolean() ? "-" : "", random.nextInt(1_000), random.nextInt(1_000));
+            };
+
+            var actual = JsonWheel.read(literal).inner;
+
+            assertThat(actual).as(literal).isEqualTo(reference(literal));
+        }
+    }
+}
@@ -43,6 +43,18 @@ class NumberTest extends JsonWheelTestMatrix {
                 arguments(named("positive decimal scientific notation positive exponent", new Arg("5.1e2", 510d))),
                 arguments(named("negative decimal scientific notation positive exponent", new Arg("-5.1e2", -510d))),
                 arguments(named("positive decimal scientific notation negative exponent", new Arg("5.1e-2", 0.051d))),
-                arguments(named("negative decimal scientific notation negative exponent", new Arg("-5.1e-2", -0.051d))));
+                arguments(named("negative decimal scientific notation negative exponent", new Arg("-5.1e-2", -0.051d))),
+                arguments(named("zero", new Arg("0", 0))),
+                arguments(named("negative zero", new Arg("-0", 0))),
+                arguments(named("decimal zero", new Arg("0.0", 0d))),
+                arguments(named("negative decimal zero", new Arg("-0.0", -0d))),
+                arguments(named("decimal with leading zeros", new Arg("0.0051", 0.0051d))),
+                arguments(named("decimal with trailing zeros", new Arg("1.500", 1.5d))),
+                arguments(named("decimal max significant digits", new Arg("123456789.012345", 123456789.012345d))),
+                arguments(named("decimal beyond max significant digits", new Arg("1234567890.1234567", 1234567890.1234567d))),
+                arguments(named("decimal large exponent", new Arg("1e23", 1e23d))),
+                arguments(named("decimal not round tripping through shortest form", new Arg("8045183e13", 8045183e13d))),
+                arguments(named("decimal beyond 64 bit precision",
+                        new Arg("0.1000000000000000055511151231257827", new BigDecimal("0.1000000000000000055511151231257827")))));
     }
 }
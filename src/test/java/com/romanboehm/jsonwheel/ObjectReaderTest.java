@@ -0,0 +1,211 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.ObjectCursor;
+import com.romanboehm.jsonwheel.JsonWheel.ObjectReader;
+
+class ObjectReaderTest {
+
+    record Address(String street, String city) {
+    }
+
+    record User(int id, long visits, double score, boolean active, String name, Address address, List<Address> previous, Map<String, Object> extra) {
+    }
+
+    static final ObjectReader<Address> ADDRESS = new ObjectReader<>() {
+        @Override
+        Address read(ObjectCursor object) {
+            String street = null;
+            String city = null;
+            while (object.next()) {
+                switch (object.key()) {
+                    case "street" -> street = object.readString();
+                    case "city" -> city = object.readString();
+                    default -> {
+                    }
+                }
+            }
+            return new Address(street, city);
+        }
+    };
+
+    static final ObjectReader<User> USER = new ObjectReader<>() {
+        @Override
+        User read(ObjectCursor object) {
+            int id = 0;
+            long visits = 0;
+            double score = 0;
+            boolean active = false;
+            String name = null;
+            Address address = null;
+            List<Address> previous = null;
+            Map<String, Object> extra = null;
+            while (object.next()) {
+                switch (object.key()) {
+                    case "id" -> id = object.readInt();
+                    case "visits" -> visits = object.readLong();
+                    case "score" -> score = object.readDouble();
+                    case "active" -> active = object.readBoolean();
+                    case "name" -> name = object.readString();
+                    case "address" -> address = object.read(ADDRESS);
+                    case "previous" -> previous = object.readList(ADDRESS);
+                    case "extra" -> extra = cast(object.read(Map.class));
+                    default -> {
+                    }
+                }
+            }
+            return new User(id, visits, score, active, name, address, previous, extra);
+        }
+    };
+
+    private static final String JSON = """
+            {
+                "id": 42,
+                "visits": 12345678901,
+                "score": 1,
+                "active": true,
+                "name": "Jane \\"JD\\" Doe",
+                "unknown": {"foo": [1, "}"]},
+                "address": {"street": "Straße 1", "city": "Berlin", "zip": "10115"},
+                "previous": [{"city": "Hamburg"}, null],
+                "extra": {"a": [1]}
+            }""";
+
+    private static final User EXPECTED = new User(42, 12345678901L, 1.0, true, "Jane \"JD\" Doe", new Address("Straße 1", "Berlin"),
+            Arrays.asList(new Address(null, "Hamburg"), null), Map.of("a", List.of(1)));
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    @Test
+    void read() {
+        assertThat(JsonWheel.read(JSON, USER)).isEqualTo(EXPECTED);
+        assertThat(JsonWheel.read(JSON.getBytes(StandardCharsets.UTF_8), USER)).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void emptyObject() {
+        assertThat(JsonWheel.read(" {} ", ADDRESS)).isEqualTo(new Address(null, null));
+    }
+
+    @Test
+    void nullObject() {
+        assertThat(JsonWheel.read("null", ADDRESS)).isNull();
+    }
+
+    @Test
+    void nestedReaderFollowedByMoreKeys() {
+        record Wrapper(Address address) {
+        }
+        var reader = new ObjectReader<Wrapper>() {
+            @Override
+            Wrapper read(ObjectCursor object) {
+                Address address = null;
+                while (object.next()) {
+                    if (object.key().equals("address")) {
+                        address = object.read(ADDRESS);
+                    }
+                }
+                return new Wrapper(address);
+            }
+        };
+
+        assertThat(JsonWheel.read("{\"address\": {\"city\": \"Berlin\"}, \"after\": 1}", reader)).isEqualTo(new Wrapper(new Address(null, "Berlin")));
+    }
+
+    @Test
+    void stoppingEarlySkipsTheRest() {
+        var reader = new ObjectReader<String>() {
+            @Override
+            String read(ObjectCursor object) {
+                object.next();
+                return object.readString();
+            }
+        };
+
+        var json = "{\"items\": [{\"a\": \"b\", \"c\": {\"d\": []}}, {\"a\": \"e\"}], \"after\": 1}";
+
+        assertThat(JsonWheel.read(json, readAll(reader))).containsExactly("b", "e");
+    }
+
+    private static ObjectReader<List<String>> readAll(ObjectReader<String> element) {
+        return new ObjectReader<>() {
+            @Override
+            List<String> read(ObjectCursor object) {
+                object.next();
+                return object.readList(element);
+            }
+        };
+    }
+
+    @Test
+    void nodes() {
+        var reader = new ObjectReader<Object>() {
+            @Override
+            Object read(ObjectCursor object) {
+                object.next();
+                return object.readNode().get("b").inner;
+            }
+        };
+
+        assertThat(JsonWheel.read("{\"a\": {\"b\": [1, 2]}}", reader)).isEqualTo(List.of(1, 2));
+    }
+
+    @Test
+    void nodesCountTowardsDepth() {
+        var reader = new ObjectReader<Object>() {
+            @Override
+            Object read(ObjectCursor object) {
+                object.next();
+                return object.key().equals("a") ? object.read(this) : object.readNode();
+            }
+        };
+        var objects = "{\"a\": ".repeat(600) + "{\"b\": ";
+
+        assertThatThrownBy(() -> JsonWheel.read(objects + "[".repeat(500) + "]".repeat(500) + "}".repeat(601), reader))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageStartingWith("Nesting deeper than 1024 at ");
+        assertThat(JsonWheel.read(objects + "[".repeat(400) + "]".repeat(400) + "}".repeat(601), reader)).isNotNull();
+    }
+
+    @Test
+    void readingTwiceFails() {
+        var reader = new ObjectReader<String>() {
+            @Override
+            String read(ObjectCursor object) {
+                object.next();
+                object.readString();
+                return object.readString();
+            }
+        };
+
+        assertThatThrownBy(() -> JsonWheel.read("{\"a\": \"b\"}", reader))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("No value to read at 6");
+    }
+
+    @Test
+    void typeMismatchFails() {
+        assertThatThrownBy(() -> JsonWheel.read("{\"id\": \"42\"}", USER))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 7 to int");
+        assertThatThrownBy(() -> JsonWheel.read("{\"active\": 1}", USER))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 11 to boolean");
+        assertThatThrownBy(() -> JsonWheel.read("[]", USER))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot bind value at 0 to an object");
+    }
+}
@@ -26,6 +26,7 @@ class ObjectTest extends JsonWheelTestMatrix {
                 }))),
                 arguments(named("object single kv array", new Arg("{\"foo\": [1.1]}", Map.of("foo", List.of(1.1d))))),
                 arguments(named("object single kv object", new Arg("{\"foo\": {\"bar\": 1.1}}", Map.of("foo", Map.of("bar", 1.1d))))),
+                arguments(named("object key ending with colon", new Arg("{\"foo:\": \"bar\", \":\": 1}", Map.of("foo:", "bar", ":", 1)))),
                 arguments(
                         named("object multiple kv", new Arg("{\"foo\": \"bar\", \"baz\": \"qux\", \"blerg\": 0.5}", Map.of("foo", "bar", "baz", "qux", "blerg", 0.5d)))));
     }
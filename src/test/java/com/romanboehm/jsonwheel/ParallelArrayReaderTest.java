@@ -0,0 +1,164 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.DoubleList;
+import com.romanboehm.jsonwheel.JsonWheel.IntList;
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.LongList;
+import com.romanboehm.jsonwheel.JsonWheel.ParallelArrayReader;
+
+class ParallelArrayReaderTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static final ForkJoinPool ODD_POOL = new ForkJoinPool(3);
+
+    private static final ForkJoinPool LARGE_POOL = new ForkJoinPool(8);
+
+    @Test
+    void readsLikeSequentially() {
+        for (long seed = 0; seed < 5; seed++) {
+            var json = array(new Random(seed), 8 * ParallelArrayReader.MIN_CHUNK_SIZE);
+            var bytes = json.getBytes(StandardCharsets.UTF_8);
+            var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            var expected = JsonWheel.read(json).inner;
+
+            assertThat(JsonWheel.readParallel(json, POOL).inner).isEqualTo(expected);
+            assertThat(JsonWheel.readParallel(bytes, POOL).inner).isEqualTo(expected);
+            assertThat(JsonWheel.readParallel(direct, ODD_POOL).inner).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void elementsSpanningChunks() {
+        var huge = "x".repeat(3 * ParallelArrayReader.MIN_CHUNK_SIZE);
+        var json = " \n[\"" + huge + "\", [1, \"" + huge + "\\\\\"], {\"a\": \"" + huge + "\\\"\"}, 4]";
+
+        var node = JsonWheel.readParallel(json, LARGE_POOL);
+
+        assertThat(node.inner).isEqualTo(List.of(huge, List.of(1, huge + "\\"), Map.of("a", huge + "\""), 4));
+    }
+
+    @Test
+    void stringsLookingLikeStructure() {
+        var element = "{\"s\": \"\\\"], [\\\"{,\", \"t\": [\"]]]\", \",\"]}";
+        var sb = new StringBuilder("[");
+        while (sb.length() < 4 * ParallelArrayReader.MIN_CHUNK_SIZE) {
+            sb.append(sb.length() > 1 ? "," : "").append(element);
+        }
+        var json = sb.append(']').toString();
+
+        assertThat(JsonWheel.readParallel(json, POOL).inner).isEqualTo(JsonWheel.read(json).inner);
+    }
+
+    @Test
+    void readsSmallOrNonArraysSequentially() {
+        assertThat(JsonWheel.readParallel("[1, 2]", POOL).inner).isEqualTo(JsonWheel.read("[1, 2]").inner);
+        assertThat(JsonWheel.readParallel("[]", POOL).inner).isEqualTo(List.of());
+        assertThat(JsonWheel.readParallel("{\"a\": 1}", POOL).inner).isEqualTo(Map.of("a", 1));
+
+        var big = "{\"a\": \"" + "x".repeat(4 * ParallelArrayReader.MIN_CHUNK_SIZE) + "\"}";
+        assertThat(JsonWheel.readParallel(big, POOL).inner).isEqualTo(JsonWheel.read(big).inner);
+    }
+
+    @Test
+    void packsNumbersLikeSequentially() {
+        var ints = IntStream.range(0, 100_000).mapToObj(Integer::toString).collect(Collectors.joining(", ", "[", "]"));
+        var longs = ints.replace("[0,", "[3000000000,");
+        var decimals = ints.replace(", ", ".5, ").replace("]", ".5]");
+        var mixed = ints.replace("]", ", 0.5]");
+
+        assertThat(JsonWheel.readParallel(ints, POOL).inner).isInstanceOf(IntList.class).isEqualTo(JsonWheel.read(ints).inner);
+        assertThat(JsonWheel.readParallel(longs, POOL).inner).isInstanceOf(LongList.class).isEqualTo(JsonWheel.read(longs).inner);
+        assertThat(JsonWheel.readParallel(decimals, POOL).inner).isInstanceOf(DoubleList.class).isEqualTo(JsonWheel.read(decimals).inner);
+        assertThat(JsonWheel.readParallel(mixed, POOL).inner).isInstanceOf(ArrayList.class).isEqualTo(JsonWheel.read(mixed).inner);
+    }
+
+    @Test
+    void reportsLikeSequentially() {
+        var json = array(new Random(42), 4 * ParallelArrayReader.MIN_CHUNK_SIZE);
+        var reported = new ArrayList<List<Long>>();
+        JsonWheel.setListener(stats -> reported.add(List.of(stats.length, (long) stats.maxDepth, (long) stats.objects, (long) stats.arrays,
+                (long) stats.strings, (long) stats.numbers, (long) stats.bigDecimals, (long) stats.bigIntegers)));
+        try {
+            JsonWheel.read(json);
+            JsonWheel.readParallel(json, POOL);
+        }
+        finally {
+            JsonWheel.setListener(null);
+        }
+
+        assertThat(reported).hasSize(2);
+        assertThat(reported.get(1)).isEqualTo(reported.get(0));
+    }
+
+    @Test
+    void failsLikeSequentially() {
+        var json = array(new Random(42), 4 * ParallelArrayReader.MIN_CHUNK_SIZE);
+        var broken = json.substring(0, json.length() / 2) + ", tru, " + json.substring(json.length() / 2 + 1);
+        var valid = json.substring(0, json.length() - 1) + ", tru]";
+
+        assertThatThrownBy(() -> JsonWheel.readParallel(valid, POOL)).isInstanceOf(JsonWheelException.class);
+        assertThatThrownBy(() -> JsonWheel.readParallel(broken, POOL)).isInstanceOf(RuntimeException.class);
+    }
+
+    private static String array(Random random, int size) {
+        var sb = new StringBuilder("[");
+        while (sb.length() < size) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            value(sb, random, 0);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void value(StringBuilder sb, Random random, int depth) {
+        switch (depth > 4 ? 2 + random.nextInt(3) : random.nextInt(5)) {
+            case 0 -> {
+                sb.append('{');
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    string(sb, random);
+                    sb.append(": ");
+                    value(sb, random, depth + 1);
+                    sb.append(i > 1 ? ", " : "");
+                }
+                sb.append('}');
+            }
+            case 1 -> {
+                sb.append('[');
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    value(sb, random, depth + 1);
+                    sb.append(i > 1 ? "," : "");
+                }
+                sb.append(']');
+            }
+            case 2 -> string(sb, random);
+            case 3 -> sb.append(random.nextInt());
+            default -> sb.append(random.nextBoolean() ? "null" : "1.5e3");
+        }
+    }
+
+    private static void string(StringBuilder sb, Random random) {
+        String[] parts = { "a", "ß", ",", "[", "]", "{", "}", ":", "\\\"", "\\\\", "\\n", "\\u00e9", " " };
+        sb.append('"');
+        for (int i = random.nextInt(12); i > 0; i--) {
+            sb.append(parts[random.nextInt(parts.length)]);
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,100 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.Parser;
+import com.romanboehm.jsonwheel.JsonWheel.ParserPool;
+
+class ParserTest {
+
+    @Test
+    void readsDocumentsOneAfterTheOther() {
+        var parser = JsonWheel.parser();
+        var first = "{\"foo\": [1, 2, 3], \"bar\": \"b\\\"az\", \"qux\": \"q\\nux\"}";
+        var second = "[\"x\"]";
+
+        var firstNode = parser.read(first);
+        var secondNode = parser.read(second);
+
+        assertThat(firstNode.inner).isEqualTo(JsonWheel.read(first).inner);
+        assertThat(secondNode.inner).isEqualTo(List.of("x"));
+    }
+
+    @Test
+    void readsFromBytesAndBuffers() {
+        var parser = JsonWheel.parser();
+        var json = "{\"foo\": \"Straße\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(parser.read(json).get("foo").val(String.class)).isEqualTo("Straße");
+        assertThat(parser.read(ByteBuffer.wrap(json)).get("foo").val(String.class)).isEqualTo("Straße");
+    }
+
+    @Test
+    void readsDocumentsLongerThanRetained() {
+        var parser = JsonWheel.parser();
+        var json = "[\"" + "x".repeat(Parser.MAX_RETAINED_CHARS) + "\"]";
+
+        assertThat(parser.read(json).elements().get(0).val(String.class)).hasSize(Parser.MAX_RETAINED_CHARS);
+        assertThat(parser.read("[1]").inner).isEqualTo(List.of(1));
+    }
+
+    @Test
+    void recoversFromFailedRead() {
+        var parser = JsonWheel.parser();
+
+        assertThatThrownBy(() -> parser.read("{\"foo\": [1, {\"bar\": tru}]}")).isInstanceOf(JsonWheelException.class);
+        assertThat(parser.read("[{\"baz\": 1}]").inner).isEqualTo(List.of(Map.of("baz", 1)));
+    }
+
+    @Test
+    void maxDepth() {
+        var parser = new Parser(2);
+
+        assertThat(parser.read("[[1]]").inner).isEqualTo(List.of(List.of(1)));
+        assertThatThrownBy(() -> parser.read("[[[1]]]")).isInstanceOf(JsonWheelException.class);
+    }
+
+    @Test
+    void poolReusesParsers() {
+        var pool = new ParserPool(1, 16);
+
+        var parser = pool.borrow();
+        pool.release(parser);
+        pool.release(JsonWheel.parser()); // Dropped, since the pool is full.
+
+        assertThat(pool.borrow()).isSameAs(parser);
+        assertThat(pool.borrow()).isNotSameAs(parser);
+    }
+
+    @Test
+    void poolIsSharedAmongThreads() throws Exception {
+        var pool = new ParserPool(4, 16);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                var json = "{\"id\": " + i + ", \"name\": \"user\\t" + i + "\"}";
+                results.add(executor.submit((Callable<Object>) () -> pool.read(json).inner));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get()).isEqualTo(Map.of("id", i, "name", "user\t" + i));
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class PathTest {
+
+    private static final String JSON = """
+            {
+                "foo": {
+                    "bar": [1, 2, {"baz": "Straße \\"1\\""}],
+                    "qux": null
+                }
+            }""";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void read() throws IOException {
+        var file = Files.writeString(dir.resolve("foo.json"), JSON);
+
+        assertThat(JsonWheel.read(file).inner).isEqualTo(JsonWheel.read(JSON).inner);
+    }
+
+    @Test
+    void readLazy() throws IOException {
+        var file = Files.writeString(dir.resolve("foo.json"), JSON);
+
+        var bar = JsonWheel.readLazy(file).get("foo").get("bar").elements();
+
+        assertThat(bar.get(1).val(Integer.class)).isEqualTo(2);
+        assertThat(bar.get(2).get("baz").val(String.class)).isEqualTo("Straße \"1\"");
+    }
+
+    @Test
+    void extract() throws IOException {
+        var file = Files.writeString(dir.resolve("foo.json"), JSON);
+
+        var extracted = JsonWheel.extract(file, "foo.bar[*]");
+
+        assertThat(extracted.get("foo.bar[*]")).extracting(node -> node.inner)
+                .containsExactly(1, 2, Map.of("baz", "Straße \"1\""));
+    }
+
+    @Test
+    void readParallel() throws IOException {
+        var json = IntStream.range(0, 100_000)
+                .mapToObj(i -> "{\"id\": " + i + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        var file = Files.writeString(dir.resolve("foo.json"), json);
+
+        var ids = JsonWheel.readParallel(file, ForkJoinPool.commonPool()).elements().stream()
+                .map(node -> node.get("id").val(Integer.class))
+                .collect(Collectors.toList());
+
+        assertThat(ids).isEqualTo(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void missingFile() {
+        assertThatThrownBy(() -> JsonWheel.read(dir.resolve("missing.json"))).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void largerThanTwoGigabytes() throws IOException {
+        var file = dir.resolve("huge.json");
+        try (var sparse = new RandomAccessFile(file.toFile(), "rw")) {
+            sparse.setLength(3L << 30);
+        }
+
+        assertThatThrownBy(() -> JsonWheel.read(file))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessageContaining("of " + (3L << 30) + " bytes");
+    }
+}
@@ -0,0 +1,100 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.DoubleList;
+import com.romanboehm.jsonwheel.JsonWheel.IntList;
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.LongList;
+
+class PrimitiveArrayTest {
+
+    @Test
+    void ints() {
+        var node = JsonWheel.read("[1, -2, 2147483647]");
+
+        assertThat(node.inner).isInstanceOf(IntList.class).isEqualTo(List.of(1, -2, Integer.MAX_VALUE));
+        assertThat(node.asIntArray()).containsExactly(1, -2, Integer.MAX_VALUE);
+        assertThat(node.asLongArray()).containsExactly(1L, -2L, Integer.MAX_VALUE);
+        assertThat(node.asDoubleArray()).containsExactly(1d, -2d, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void longs() {
+        var node = JsonWheel.read("[1, 9223372036854775807, -9223372036854775808]");
+
+        assertThat(node.inner).isInstanceOf(LongList.class).isEqualTo(List.of(1, Long.MAX_VALUE, Long.MIN_VALUE));
+        assertThat(node.elements().get(0).val(Integer.class)).isEqualTo(1);
+        assertThat(node.asLongArray()).containsExactly(1L, Long.MAX_VALUE, Long.MIN_VALUE);
+        assertThatThrownBy(node::asIntArray).isInstanceOf(JsonWheelException.class);
+    }
+
+    @Test
+    void doubles() {
+        var node = JsonWheel.read("[1.5, -2e3, 0.25]");
+
+        assertThat(node.inner).isInstanceOf(DoubleList.class).isEqualTo(List.of(1.5d, -2000d, 0.25d));
+        assertThat(node.asDoubleArray()).containsExactly(1.5d, -2000d, 0.25d);
+        assertThatThrownBy(node::asIntArray).isInstanceOf(JsonWheelException.class);
+    }
+
+    @Test
+    void mixedNumbersAreBoxed() {
+        var node = JsonWheel.read("[1, 2.5, 3]");
+
+        assertThat(node.inner).isInstanceOf(ArrayList.class).isEqualTo(List.of(1, 2.5d, 3));
+        assertThat(node.asDoubleArray()).containsExactly(1d, 2.5d, 3d);
+    }
+
+    @Test
+    void arbitraryPrecisionNumbersAreBoxed() {
+        var node = JsonWheel.read("[1, 9223372036854775808]");
+
+        assertThat(node.inner).isInstanceOf(ArrayList.class).isEqualTo(List.of(1, new BigInteger("9223372036854775808")));
+        assertThatThrownBy(node::asLongArray).isInstanceOf(JsonWheelException.class);
+    }
+
+    @Test
+    void nonNumbersAreBoxed() {
+        var node = JsonWheel.read("[1, 2, null, \"3\"]");
+
+        assertThat(node.inner).isInstanceOf(ArrayList.class).isEqualTo(Arrays.asList(1, 2, null, "3"));
+    }
+
+    @Test
+    void nested() {
+        var node = JsonWheel.read("{\"series\": [[1, 2], [0.5, 1.5]]}");
+
+        var series = node.get("series").elements();
+        assertThat(series.get(0).asIntArray()).containsExactly(1, 2);
+        assertThat(series.get(1).asDoubleArray()).containsExactly(0.5d, 1.5d);
+    }
+
+    @Test
+    void arraysAreCopies() {
+        var node = JsonWheel.read("{\"ints\": [1, 2], \"longs\": [1, 3000000000], \"doubles\": [0.5, 1.5]}");
+
+        node.get("ints").asIntArray()[0] = 5;
+        node.get("longs").asLongArray()[0] = 5L;
+        node.get("doubles").asDoubleArray()[0] = 5d;
+
+        assertThat(node.get("ints").asIntArray()).containsExactly(1, 2);
+        assertThat(node.get("longs").asLongArray()).containsExactly(1L, 3000000000L);
+        assertThat(node.get("doubles").asDoubleArray()).containsExactly(0.5d, 1.5d);
+    }
+
+    @Test
+    void lazy() {
+        var node = JsonWheel.readLazy("{\"series\": [1, 2]}");
+
+        assertThat(node.get("series").asIntArray()).containsExactly(1, 2);
+    }
+}
@@ -0,0 +1,77 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class ReadKeysTest {
+
+    private static final String JSON = """
+            {
+                "image": "aGVsbG8gd29ybGQ=\\"}]",
+                "id": 42,
+                "trace": {"frames": [{"at": "Foo.java:1", "note": "\\\\"}, ["{", "["]], "depth": 2},
+                "user": {"name": "Jane", "tags": ["a"]},
+                "empty": [],
+                "flag": true
+            }""";
+
+    @Test
+    void readsOnlyTheGivenKeys() {
+        var node = JsonWheel.readKeys(JSON, "id", "user");
+
+        assertThat(node.inner).isEqualTo(Map.of("id", 42, "user", Map.of("name", "Jane", "tags", List.of("a"))));
+    }
+
+    @Test
+    void bytes() {
+        var node = JsonWheel.readKeys(JSON.getBytes(StandardCharsets.UTF_8), "flag", "empty");
+
+        assertThat(node.inner).isEqualTo(Map.of("flag", true, "empty", List.of()));
+    }
+
+    @Test
+    void keysAfterSkippedContainers() {
+        var json = "{\"a\": {\"b\": [1, {\"c\": \"]}\"}]}, \"d\": 1, \"e\": [[]], \"f\": \"x\"}";
+
+        assertThat(JsonWheel.readKeys(json, "d", "f").inner).isEqualTo(Map.of("d", 1, "f", "x"));
+    }
+
+    @Test
+    void onlyTopLevelKeysAreFiltered() {
+        var json = "{\"a\": {\"a\": 1, \"b\": 2}, \"b\": 3}";
+
+        assertThat(JsonWheel.readKeys(json, "a").inner).isEqualTo(Map.of("a", Map.of("a", 1, "b", 2)));
+    }
+
+    @Test
+    void noKeys() {
+        assertThat(JsonWheel.readKeys(JSON).inner).isEqualTo(Map.of());
+        assertThat(JsonWheel.readKeys(JSON, "missing").inner).isEqualTo(Map.of());
+    }
+
+    @Test
+    void otherTopLevelValuesAreReadAsAWhole() {
+        assertThat(JsonWheel.readKeys("[{\"a\": 1, \"b\": 2}]", "a").inner).isEqualTo(List.of(Map.of("a", 1, "b", 2)));
+        assertThat(JsonWheel.readKeys("\"a\"", "a").inner).isEqualTo("a");
+    }
+
+    @Test
+    void skippedValuesAreNotRead() {
+        assertThat(JsonWheel.readKeys("{\"a\": 1e400000000, \"b\": 1}", "b").inner).isEqualTo(Map.of("b", 1));
+    }
+
+    @Test
+    void unterminatedSkippedValueFails() {
+        assertThatThrownBy(() -> JsonWheel.readKeys("{\"a\": [1, [2, \"b\": 1}", "b"))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Could not find end of value, checking from 6");
+    }
+}
@@ -0,0 +1,95 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.BufferSource;
+import com.romanboehm.jsonwheel.JsonWheel.ByteSource;
+import com.romanboehm.jsonwheel.JsonWheel.CharSource;
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.Source;
+
+class ScanTest {
+
+    @Test
+    void indexOfMatchesNaiveSearch() {
+        var random = new Random(42);
+        var alphabet = "ab\"\\é ";
+        for (int n = 0; n < 1_000; n++) {
+            var sb = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            var bytes = ("xxx" + sb).getBytes(StandardCharsets.UTF_8);
+            var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+            direct.flip();
+            Source[] sources = {
+                    new ByteSource(bytes, 3, bytes.length - 3),
+                    new BufferSource(direct.position(3).slice())
+            };
+            for (var source : sources) {
+                for (int from = 0; from < source.length(); from++) {
+                    for (int to = from - 1; to < source.length(); to++) {
+                        assertThat(source.indexOf('"', from, to)).isEqualTo(naiveIndexOf(source, '"', from, to));
+                        assertThat(source.indexOf('\\', from, to)).isEqualTo(naiveIndexOf(source, '\\', from, to));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void indexOfInChars() {
+        var source = new CharSource("ab\"cd\"".toCharArray());
+
+        assertThat(source.indexOf('"', 0, 5)).isEqualTo(2);
+        assertThat(source.indexOf('"', 3, 5)).isEqualTo(5);
+        assertThat(source.indexOf('"', 3, 4)).isEqualTo(-1);
+    }
+
+    @Test
+    void backslashRuns() {
+        for (int backslashes = 0; backslashes < 20; backslashes++) {
+            for (int padding = 0; padding < 10; padding++) {
+                var raw = "p".repeat(padding) + "\\\\".repeat(backslashes);
+                var json = "[\"" + raw + "\", \"" + raw + "\\\"\"]";
+                var expected = "p".repeat(padding) + "\\".repeat(backslashes);
+
+                var fromBytes = JsonWheel.read(json.getBytes(StandardCharsets.UTF_8)).elements();
+                var fromString = JsonWheel.read(json).elements();
+
+                assertThat(fromBytes.get(0).val(String.class)).isEqualTo(expected);
+                assertThat(fromBytes.get(1).val(String.class)).isEqualTo(expected + "\"");
+                assertThat(fromString.get(0).val(String.class)).isEqualTo(expected);
+                assertThat(fromString.get(1).val(String.class)).isEqualTo(expected + "\"");
+            }
+        }
+    }
+
+    @Test
+    void unterminatedStringReportsWhereTheSearchStarted() {
+        var json = "[1, \"abc\\\"]";
+
+        assertThatThrownBy(() -> JsonWheel.read(json))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Could not find \", checking from 5");
+        assertThatThrownBy(() -> JsonWheel.read(json.getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Could not find \", checking from 5");
+    }
+
+    private static int naiveIndexOf(Source source, char c, int from, int to) {
+        for (int i = from; i <= to; i++) {
+            if (source.at(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,141 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.Snapshot;
+
+class SnapshotTest {
+
+    private static final String V1 = """
+            {
+                "version": 1,
+                "flags": [
+                    {"name": "a", "enabled": true, "rules": {"percent": 10}},
+                    {"name": "b", "enabled": false, "rules": {"percent": 20}}
+                ],
+                "regions": ["eu", "us"],
+                "weights": [1, 2, 3],
+                "owner": {"team": "core"}
+            }""";
+
+    private static final String V2 = """
+            {
+                "version": 2,
+                "flags": [
+                    {"name": "a", "enabled": true, "rules": {"percent": 10}},
+                    {"name": "b", "enabled": true, "rules": {"percent": 20}}
+                ],
+                "regions": ["eu", "us"],
+                "weights": [1, 2, 3],
+                "new": null
+            }""";
+
+    private static Object at(Snapshot snapshot, String key) {
+        return snapshot.root().get(key).inner;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    @Test
+    void readsTheSameValues() {
+        var snapshot = JsonWheel.snapshot(V1);
+
+        assertThat(snapshot.root().inner).isEqualTo(JsonWheel.read(V1).inner);
+        assertThat(JsonWheel.snapshot(V1.getBytes(StandardCharsets.UTF_8)).root().inner).isEqualTo(JsonWheel.read(V1).inner);
+        assertThat(snapshot.root().get("flags").elements().get(1).get("name").val(String.class)).isEqualTo("b");
+    }
+
+    @Test
+    void isImmutable() {
+        var snapshot = JsonWheel.snapshot(V1);
+        Map<String, Object> root = cast(snapshot.root().inner);
+        List<Object> flags = cast(root.get("flags"));
+        List<Object> weights = cast(root.get("weights"));
+
+        assertThatThrownBy(() -> root.put("version", 2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> root.remove("version")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> root.entrySet().iterator().next().setValue(2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> root.entrySet().iterator().remove()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> root.keySet().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> flags.set(0, null)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> flags.add(null)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> weights.set(0, 5)).isInstanceOf(UnsupportedOperationException.class);
+
+        snapshot.root().get("weights").asIntArray()[0] = 5;
+        snapshot.root().setInner(null);
+
+        assertThat(snapshot.root().inner).isEqualTo(JsonWheel.read(V1).inner);
+    }
+
+    @Test
+    void refreshReusesUnchangedSubtrees() {
+        var v1 = JsonWheel.snapshot(V1);
+        var v2 = v1.refresh(V2);
+
+        assertThat(v2.root().inner).isEqualTo(JsonWheel.read(V2).inner);
+        assertThat(at(v2, "regions")).isSameAs(at(v1, "regions"));
+        assertThat(at(v2, "weights")).isSameAs(at(v1, "weights"));
+        var flags1 = v1.root().get("flags").elements();
+        var flags2 = v2.root().get("flags").elements();
+        assertThat(flags2.get(0).inner).isSameAs(flags1.get(0).inner);
+        assertThat(flags2.get(1).inner).isNotSameAs(flags1.get(1).inner);
+        assertThat(flags2.get(1).get("rules").inner).isSameAs(flags1.get(1).get("rules").inner);
+        assertThat(flags2.get(1).get("name").inner).isSameAs(flags1.get(1).get("name").inner);
+    }
+
+    @Test
+    void refreshWithoutChangesReusesEverything() {
+        var v1 = JsonWheel.snapshot(V1);
+
+        assertThat(v1.refresh(V1).root().inner).isSameAs(v1.root().inner);
+        assertThat(v1.refresh(V1.getBytes(StandardCharsets.UTF_8)).root().inner).isSameAs(v1.root().inner);
+    }
+
+    @Test
+    void refreshReusesElementsThatMoved() {
+        var v1 = JsonWheel.snapshot("[{\"a\": 1}, {\"b\": [2]}]");
+        var v2 = v1.refresh("[{\"new\": 0}, {\"a\": 1}, {\"b\": [2]}]");
+
+        var before = v1.root().elements();
+        var after = v2.root().elements();
+        assertThat(after.get(1).inner).isSameAs(before.get(0).inner);
+        assertThat(after.get(2).inner).isSameAs(before.get(1).inner);
+    }
+
+    @Test
+    void diff() {
+        var v1 = JsonWheel.snapshot(V1);
+        var v2 = v1.refresh(V2);
+
+        assertThat(v2.diff(v1)).containsExactly("$.version", "$.flags[1].enabled", "$.new", "$.owner");
+        assertThat(v1.diff(v2)).containsExactly("$.version", "$.flags[1].enabled", "$.owner", "$.new");
+        assertThat(v2.diff(v2)).isEmpty();
+    }
+
+    @Test
+    void diffOfUnrelatedSnapshots() {
+        var v1 = JsonWheel.snapshot("{\"a\": [1, 2], \"b\": [1], \"c\": {\"d\": \"e\"}, \"f\": 1}");
+        var v2 = JsonWheel.snapshot("{\"a\": [1, 3], \"b\": [1, 2], \"c\": {\"d\": \"e\"}, \"f\": \"1\"}");
+
+        assertThat(v2.diff(v1)).containsExactly("$.a[1]", "$.b", "$.f");
+    }
+
+    @Test
+    void scalarRoots() {
+        var v1 = JsonWheel.snapshot("\"a\"");
+
+        assertThat(v1.root().inner).isEqualTo("a");
+        assertThat(v1.refresh("null").diff(v1)).containsExactly("$");
+        assertThat(JsonWheel.snapshot("null").refresh("null").diff(JsonWheel.snapshot("null"))).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.SourceView;
+import com.romanboehm.jsonwheel.JsonWheel.Token;
+
+class SourceViewTest {
+
+    @Test
+    void lazyStringWithoutEscapesIsView() {
+        var text = JsonWheel.readLazy("{\"foo\": \"bar\"}").get("foo").text();
+
+        assertThat(text).isInstanceOf(SourceView.class);
+        assertThat(text.length()).isEqualTo(3);
+        assertThat(text.charAt(0)).isEqualTo('b');
+        assertThat(text.toString()).isEqualTo("bar");
+    }
+
+    @Test
+    void lazyStringWithEscapesIsDecoded() {
+        var text = JsonWheel.readLazy("{\"foo\": \"b\\\"ar\"}").get("foo").text();
+
+        assertThat(text).isInstanceOf(String.class).isEqualTo("b\"ar");
+    }
+
+    @Test
+    void lazyNonAsciiFromBytesIsDecoded() {
+        var json = "[\"ascii\", \"Straße\"]".getBytes(StandardCharsets.UTF_8);
+
+        var elements = JsonWheel.readLazy(json).elements();
+
+        assertThat(elements.get(0).text()).isInstanceOf(SourceView.class);
+        assertThat(elements.get(0).text().toString()).isEqualTo("ascii");
+        assertThat(elements.get(1).text()).isInstanceOf(String.class).isEqualTo("Straße");
+    }
+
+    @Test
+    void lazyNonAsciiFromStringIsView() {
+        var text = JsonWheel.readLazy("[\"Straße\"]").elements().get(0).text();
+
+        assertThat(text).isInstanceOf(SourceView.class);
+        assertThat(text.toString()).isEqualTo("Straße");
+    }
+
+    @Test
+    void emptyString() {
+        var text = JsonWheel.readLazy("\"\"").text();
+
+        assertThat(text.length()).isZero();
+        assertThat(text.toString()).isEmpty();
+    }
+
+    @Test
+    void subSequence() {
+        var text = JsonWheel.readLazy("\"foobar\"").text();
+
+        assertThat(text.subSequence(1, 4).toString()).isEqualTo("oob");
+        assertThat(text.subSequence(3, 3).length()).isZero();
+        assertThatThrownBy(() -> text.subSequence(2, 7)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> text.charAt(6)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void eagerNodeReturnsString() {
+        var text = JsonWheel.read("{\"foo\": \"bar\"}").get("foo").text();
+
+        assertThat(text).isInstanceOf(String.class).isEqualTo("bar");
+    }
+
+    @Test
+    void nonStringFails() {
+        assertThatThrownBy(() -> JsonWheel.readLazy("[1]").elements().get(0).text()).isInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    void tokenizer() {
+        try (var tokenizer = JsonWheel.tokenize(new StringReader("{\"foo\": \"bar\", \"baz\": \"q\\nux\"}"))) {
+            assertThat(tokenizer.nextToken()).isEqualTo(Token.START_OBJECT);
+            assertThat(tokenizer.nextToken()).isEqualTo(Token.KEY);
+            assertThat(tokenizer.currentText()).isInstanceOf(SourceView.class);
+            assertThat(tokenizer.currentText().toString()).isEqualTo("foo");
+            assertThat(tokenizer.nextToken()).isEqualTo(Token.STRING);
+            assertThat(tokenizer.currentText().toString()).isEqualTo("bar");
+            assertThat(tokenizer.nextToken()).isEqualTo(Token.KEY);
+            assertThat(tokenizer.nextToken()).isEqualTo(Token.STRING);
+            assertThat(tokenizer.currentText()).isInstanceOf(String.class).isEqualTo("q\nux");
+            assertThat(tokenizer.nextToken()).isEqualTo(Token.END_OBJECT);
+            assertThatThrownBy(tokenizer::currentText).isInstanceOf(JsonWheel.JsonWheelException.class);
+        }
+    }
+}
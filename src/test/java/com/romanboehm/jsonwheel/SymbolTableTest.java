@@ -0,0 +1,70 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.romanboehm.jsonwheel.JsonWheel.SymbolTable;
+
+class SymbolTableTest {
+
+    @Test
+    void repeatedKeysAreTheSameInstance() {
+        var json = """
+                [{"id": 1, "name": "a"}, {"id": 2, "name": "b"}]""";
+
+        var elements = JsonWheel.read(json.getBytes(StandardCharsets.UTF_8)).elements();
+
+        Map<?, ?> first = elements.get(0).val(Map.class);
+        Map<?, ?> second = elements.get(1).val(Map.class);
+        assertThat(first).hasSize(2);
+        for (var key : first.keySet()) {
+            assertThat(second.keySet()).anySatisfy(other -> assertThat(other).isSameAs(key));
+        }
+    }
+
+    @Test
+    void sharedBetweenReads() {
+        var symbols = new SymbolTable(16);
+
+        var first = JsonWheel.read("{\"id\": 1}", symbols).val(Map.class).keySet().iterator().next();
+        var second = JsonWheel.read("{\"id\": 2}".getBytes(StandardCharsets.UTF_8), symbols).val(Map.class).keySet().iterator().next();
+
+        assertThat(second).isEqualTo("id").isSameAs(first);
+    }
+
+    @Test
+    void sharedBetweenOneShotReads() {
+        var first = JsonWheel.read("{\"sharedKey\": 1}").val(Map.class).keySet().iterator().next();
+        var second = JsonWheel.read("{\"sharedKey\": 2}".getBytes(StandardCharsets.UTF_8)).val(Map.class).keySet().iterator().next();
+
+        assertThat(second).isEqualTo("sharedKey").isSameAs(first);
+    }
+
+    @Test
+    void keysNeedingDecoding() {
+        var json = """
+                {"Straße": 1, "qu\\"ote": 2, "\\u81ea": 3}""";
+
+        var node = JsonWheel.read(json.getBytes(StandardCharsets.UTF_8), new SymbolTable(8));
+
+        assertThat(node.inner).isEqualTo(Map.of("Straße", 1, "qu\"ote", 2, "自", 3));
+    }
+
+    @Test
+    void moreKeysThanCapacity() {
+        var expected = IntStream.range(0, 1_000).boxed().collect(Collectors.toMap(i -> "key" + i, i -> i));
+        var json = expected.entrySet().stream()
+                .map(e -> "\"%s\": %d".formatted(e.getKey(), e.getValue()))
+                .collect(Collectors.joining(",", "{", "}"));
+        var symbols = new SymbolTable(8);
+
+        assertThat(JsonWheel.read(json, symbols).inner).isEqualTo(expected);
+        assertThat(JsonWheel.read(json, symbols).inner).isEqualTo(expected);
+    }
+}
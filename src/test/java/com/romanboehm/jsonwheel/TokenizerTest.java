@@ -0,0 +1,183 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+import com.romanboehm.jsonwheel.JsonWheel.Token;
+import com.romanboehm.jsonwheel.JsonWheel.Tokenizer;
+
+class TokenizerTest {
+
+    private static List<Path> jsonDotOrgPassFiles() throws URISyntaxException, IOException {
+        try (var stream = Files.list(Paths.get(TokenizerTest.class.getResource("/jsondotorg/pass").toURI()))) {
+            return stream.toList();
+        }
+    }
+
+    @Test
+    void tokens() {
+        var json = """
+                {
+                    "foo": [1, -2.5e3, "bar", true, false, null],
+                    "baz": {}
+                }""";
+
+        var tokenizer = JsonWheel.tokenize(new StringReader(json));
+
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.START_OBJECT);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.KEY);
+        assertThat(tokenizer.currentString()).isEqualTo("foo");
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.START_ARRAY);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.NUMBER);
+        assertThat(tokenizer.currentNumber()).isEqualTo(1);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.NUMBER);
+        assertThat(tokenizer.currentNumber()).isEqualTo(-2500d);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.STRING);
+        assertThat(tokenizer.currentString()).isEqualTo("bar");
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.TRUE);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.FALSE);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.NULL);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.END_ARRAY);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.KEY);
+        assertThat(tokenizer.currentString()).isEqualTo("baz");
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.START_OBJECT);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.END_OBJECT);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.END_OBJECT);
+        assertThat(tokenizer.nextToken()).isNull();
+    }
+
+    @Test
+    void tokensSpanningBufferBoundaries() {
+        var json = """
+                ["a long string with \\"escapes\\" \\u00dfand more", 123456789012345, "Straße 🧪"]""";
+
+        var tokenizer = JsonWheel.tokenize(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        var smallBuffer = new Tokenizer(new StringReader(json), 4);
+
+        for (var t : List.of(tokenizer, smallBuffer)) {
+            assertThat(t.nextToken()).isEqualTo(Token.START_ARRAY);
+            assertThat(t.nextToken()).isEqualTo(Token.STRING);
+            assertThat(t.currentString()).isEqualTo("a long string with \"escapes\" ßand more");
+            assertThat(t.nextToken()).isEqualTo(Token.NUMBER);
+            assertThat(t.currentNumber()).isEqualTo(123456789012345L);
+            assertThat(t.nextToken()).isEqualTo(Token.STRING);
+            assertThat(t.currentString()).isEqualTo("Straße 🧪");
+            assertThat(t.nextToken()).isEqualTo(Token.END_ARRAY);
+            assertThat(t.nextToken()).isNull();
+        }
+    }
+
+    @Test
+    void skipChildren() {
+        var json = """
+                {"skipped": {"a": ["}", "\\"]", {"b": [[]]}]}, "kept": 1}""";
+
+        var tokenizer = new Tokenizer(new StringReader(json), 4);
+
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.START_OBJECT);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.KEY);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.START_OBJECT);
+        tokenizer.skipChildren();
+        assertThat(tokenizer.currentToken()).isEqualTo(Token.END_OBJECT);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.KEY);
+        assertThat(tokenizer.currentString()).isEqualTo("kept");
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.NUMBER);
+        assertThat(tokenizer.currentNumber()).isEqualTo(1);
+        assertThat(tokenizer.nextToken()).isEqualTo(Token.END_OBJECT);
+        assertThat(tokenizer.nextToken()).isNull();
+    }
+
+    @Test
+    void multipleTopLevelValues() {
+        var json = """
+                {"id": 1}
+                {"id": 2}
+                """;
+
+        var tokenizer = JsonWheel.tokenize(new StringReader(json));
+
+        List<Object> values = new ArrayList<>();
+        while (tokenizer.nextToken() != null) {
+            values.add(build(tokenizer));
+        }
+        assertThat(values).containsExactly(Map.of("id", 1), Map.of("id", 2));
+    }
+
+    @ParameterizedTest(name = ParameterizedTest.INDEX_PLACEHOLDER)
+    @ValueSource(strings = { "{\"k\" 1}", "[1 2]", "[1}", "{1: 2}", "[1,", "\"unterminated", "[nul]", "[#]" })
+    void invalid(String json) {
+        var tokenizer = JsonWheel.tokenize(new StringReader(json));
+
+        assertThatThrownBy(() -> {
+            while (tokenizer.nextToken() != null) {
+                // Consume all tokens.
+            }
+        }).isInstanceOf(JsonWheelException.class);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("jsonDotOrgPassFiles")
+    void jsonDotOrgPass(Path path) throws IOException {
+        var json = Files.readString(path);
+
+        var tokenizer = new Tokenizer(new StringReader(json), 16);
+        tokenizer.nextToken();
+
+        assertThat(build(tokenizer)).isEqualTo(JsonWheel.read(json).inner);
+    }
+
+    private static Object build(Tokenizer tokenizer) {
+        switch (tokenizer.currentToken()) {
+            case START_OBJECT -> {
+                Map<String, Object> map = new HashMap<>();
+                while (tokenizer.nextToken() == Token.KEY) {
+                    var key = tokenizer.currentString();
+                    tokenizer.nextToken();
+                    map.put(key, build(tokenizer));
+                }
+                return map;
+            }
+            case START_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                while (tokenizer.nextToken() != Token.END_ARRAY) {
+                    list.add(build(tokenizer));
+                }
+                return list;
+            }
+            case STRING -> {
+                return tokenizer.currentString();
+            }
+            case NUMBER -> {
+                return tokenizer.currentNumber();
+            }
+            case TRUE -> {
+                return true;
+            }
+            case FALSE -> {
+                return false;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+class ValidateTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{}",
+            "[]",
+            " \t\r\n[ ] \n",
+            "0",
+            "-0",
+            "-0.0e+0",
+            "1.5E-10",
+            "123",
+            "\"\"",
+            "\"a\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\uD83D\\uDE00\"",
+            "\"Straße 日本 😀\"",
+            "true",
+            "false",
+            "null",
+            "{\"a\": [1, {\"b\": null}, [], {}], \"c\": \"d\"}",
+            "[[[[]]]]"
+    })
+    void valid(String json) {
+        assertThat(JsonWheel.validate(json)).isEqualTo(-1);
+        assertThat(JsonWheel.validate(json.getBytes(StandardCharsets.UTF_8))).isEqualTo(-1);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '`', value = {
+            "``|0",
+            "`   `|3",
+            "[1] x|4",
+            "[1]]|3",
+            "{} {}|3",
+            "01|1",
+            "-|1",
+            "-a|1",
+            "+1|0",
+            ".5|0",
+            "1.|2",
+            "1.e5|2",
+            "1e|2",
+            "1e+|3",
+            "0x10|1",
+            "NaN|0",
+            "Infinity|0",
+            "tru|3",
+            "nul|3",
+            "True|0",
+            "[1,]|3",
+            "[,1]|1",
+            "[1 2]|3",
+            "{\"a\" 1}|5",
+            "{\"a\": 1,}|8",
+            "{a: 1}|1",
+            "{'a': 1}|1",
+            "{\"a\": 1]|7",
+            "[1}|2",
+            "[|1",
+            "{|1",
+            "{\"a\"|4",
+            "{\"a\":|5",
+            "\"abc|4",
+            "\"\\x\"|2",
+            "\"\\u12g4\"|5",
+            "\"\\u12\"|5",
+            "\"\\|2",
+            "[1]\u00a0|3",
+            "\u00a0[1]|0"
+    })
+    void invalid(String json, int offset) {
+        assertThat(JsonWheel.validate(json)).isEqualTo(offset);
+        assertThat(JsonWheel.validate(json.getBytes(StandardCharsets.UTF_8))).isEqualTo(offset);
+    }
+
+    @Test
+    void controlCharacters() {
+        assertThat(JsonWheel.validate("\"a\tb\"")).isEqualTo(2);
+        assertThat(JsonWheel.validate("\"a\nb\"")).isEqualTo(2);
+        assertThat(JsonWheel.validate("\"a\u0000b\"")).isEqualTo(2);
+        assertThat(JsonWheel.validate("\"a\u007fb\"")).isEqualTo(-1);
+    }
+
+    @Test
+    void invalidUtf8() {
+        assertThat(JsonWheel.validate(bytes('"', 0xC3, '"'))).isEqualTo(2); // Truncated.
+        assertThat(JsonWheel.validate(bytes('"', 0x80, '"'))).isEqualTo(1); // Lone continuation byte.
+        assertThat(JsonWheel.validate(bytes('"', 0xC0, 0xAF, '"'))).isEqualTo(1); // Overlong.
+        assertThat(JsonWheel.validate(bytes('"', 0xE0, 0x80, 0xAF, '"'))).isEqualTo(2); // Overlong.
+        assertThat(JsonWheel.validate(bytes('"', 0xED, 0xA0, 0x80, '"'))).isEqualTo(2); // Surrogate.
+        assertThat(JsonWheel.validate(bytes('"', 0xF4, 0x90, 0x80, 0x80, '"'))).isEqualTo(2); // Beyond U+10FFFF.
+        assertThat(JsonWheel.validate(bytes('"', 0xF5, 0x80, 0x80, 0x80, '"'))).isEqualTo(1);
+        assertThat(JsonWheel.validate(bytes('"', 0xF0, 0x9F, 0x98, 0x80, '"'))).isEqualTo(-1);
+        assertThat(JsonWheel.validate(bytes('[', 0xC3, 0xA9, ']'))).isEqualTo(1); // Outside of strings.
+    }
+
+    @Test
+    void byteBuffer() {
+        var bytes = "xx[1, 2]x".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(JsonWheel.validate(ByteBuffer.wrap(bytes, 2, 6))).isEqualTo(-1);
+        assertThat(JsonWheel.validate(ByteBuffer.wrap(bytes, 2, 7))).isEqualTo(6);
+        assertThat(JsonWheel.validate(ByteBuffer.allocateDirect(3).put(bytes, 2, 3).flip())).isEqualTo(3);
+    }
+
+    @Test
+    void depthIsLimited() {
+        assertThat(JsonWheel.validate("[".repeat(1025) + "]".repeat(1025))).isEqualTo(-1); // Reading accepts these, too.
+        assertThat(JsonWheel.validate("[".repeat(1025) + "1" + "]".repeat(1025))).isEqualTo(1024);
+        assertThat(JsonWheel.validate("{\"a\":".repeat(1024) + "1" + "}".repeat(1024))).isEqualTo(-1);
+    }
+
+    @Test
+    void validDocumentsCanBeRead() {
+        var json = "{\"a\": [1, -0.5e3, \"\\u00e9\", true, null, {}]}";
+
+        assertThat(JsonWheel.validate(json)).isEqualTo(-1);
+        assertThat(JsonWheel.read(json).get("a").elements()).hasSize(6);
+    }
+
+    private static byte[] bytes(int... values) {
+        var bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,224 @@
+package com.romanboehm.jsonwheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.romanboehm.jsonwheel.JsonWheel.JsonWheelException;
+
+class WriterTest {
+
+    private static final String JSON = """
+            {
+                "foo": {
+                    "bar": [1, 2, {"baz": "Straße \\"1\\"\\n\\u0001 🧪"}],
+                    "qux": null,
+                    "quux": [true, false, 1.5, -0.25, 12345678901, 1.0E300, []],
+                    "ints": [1, 2, 3],
+                    "longs": [1, 12345678901],
+                    "decimals": [1.5, 2.25, 0.001]
+                },
+                "": {}
+            }""";
+
+    @Test
+    void scalars() {
+        assertThat(JsonWheel.write(null)).isEqualTo("null");
+        assertThat(JsonWheel.write(true)).isEqualTo("true");
+        assertThat(JsonWheel.write(false)).isEqualTo("false");
+        assertThat(JsonWheel.write("foo")).isEqualTo("\"foo\"");
+        assertThat(JsonWheel.write(42)).isEqualTo("42");
+        assertThat(JsonWheel.write(-42L)).isEqualTo("-42");
+        assertThat(JsonWheel.write(Long.MIN_VALUE)).isEqualTo("-9223372036854775808");
+        assertThat(JsonWheel.write(Long.MAX_VALUE)).isEqualTo("9223372036854775807");
+        assertThat(JsonWheel.write(new BigDecimal("1.10"))).isEqualTo("1.10");
+        assertThat(JsonWheel.write(new BigInteger("123456789012345678901234567890"))).isEqualTo("123456789012345678901234567890");
+    }
+
+    @Test
+    void decimals() {
+        assertThat(JsonWheel.write(0.0)).isEqualTo("0.0");
+        assertThat(JsonWheel.write(-0.0)).isEqualTo("-0.0");
+        assertThat(JsonWheel.write(1.0)).isEqualTo("1.0");
+        assertThat(JsonWheel.write(0.5)).isEqualTo("0.5");
+        assertThat(JsonWheel.write(-12.5)).isEqualTo("-12.5");
+        assertThat(JsonWheel.write(0.001)).isEqualTo("0.001");
+        assertThat(JsonWheel.write(0.1 + 0.2)).isEqualTo("0.30000000000000004");
+        assertThat(JsonWheel.write(1e7)).isEqualTo("10000000.0");
+        assertThat(JsonWheel.write(1e300)).isEqualTo("1.0E300");
+        assertThat(JsonWheel.write(1.5f)).isEqualTo("1.5");
+    }
+
+    @Test
+    void randomDecimalsRoundTrip() {
+        var random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double value = switch (i % 4) {
+                case 0 -> random.nextDouble();
+                case 1 -> random.nextDouble() * 1_000_000;
+                case 2 -> Math.round(random.nextDouble() * 100_000) / 100.0;
+                default -> Double.longBitsToDouble(random.nextLong());
+            };
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+
+            assertThat(Double.parseDouble(JsonWheel.write(value))).isEqualTo(value);
+            assertThat(JsonWheel.read(JsonWheel.write(value)).val(Double.class)).isEqualTo(value);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY })
+    void nonFiniteDecimalsFail(double value) {
+        assertThatThrownBy(() -> JsonWheel.write(value)).isInstanceOf(JsonWheelException.class);
+        assertThatThrownBy(() -> JsonWheel.write((float) value)).isInstanceOf(JsonWheelException.class);
+    }
+
+    @Test
+    void escapes() {
+        assertThat(JsonWheel.write("\"\\/\b\f\n\r\t\u0000\u001f")).isEqualTo("\"\\\"\\\\/\\b\\f\\n\\r\\t\\u0000\\u001f\"");
+    }
+
+    @Test
+    void utf8() {
+        var string = "aß€🧪";
+
+        assertThat(JsonWheel.writeBytes(string)).isEqualTo(("\"" + string + "\"").getBytes(StandardCharsets.UTF_8));
+        assertThat(JsonWheel.writeBytes("a\uD83Eb")).isEqualTo("\"a?b\"".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void collections() {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("foo", List.of(1, "bar", Map.of()));
+        map.put("baz", null);
+        var list = new ArrayList<Object>();
+        list.add(map);
+        list.add(new ArrayList<>());
+
+        assertThat(JsonWheel.write(list)).isEqualTo("[{\"foo\":[1,\"bar\",{}],\"baz\":null},[]]");
+    }
+
+    @Test
+    void nonStringKeys() {
+        assertThat(JsonWheel.write(Map.of(1, 2))).isEqualTo("{\"1\":2}");
+    }
+
+    @Test
+    void roundTrip() {
+        var node = JsonWheel.read(JSON);
+
+        assertThat(JsonWheel.read(JsonWheel.write(node)).inner).isEqualTo(node.inner);
+        assertThat(JsonWheel.read(JsonWheel.writeBytes(node)).inner).isEqualTo(node.inner);
+        assertThat(JsonWheel.read(JsonWheel.write(node.inner)).inner).isEqualTo(node.inner);
+    }
+
+    @Test
+    void roundTripLazy() {
+        var node = JsonWheel.readLazy(JSON);
+
+        assertThat(JsonWheel.read(JsonWheel.write(node)).inner).isEqualTo(JsonWheel.read(JSON).inner);
+    }
+
+    @Test
+    void packedLists() {
+        var node = JsonWheel.read("[[1,2,-3],[1,12345678901],[1.5,-0.25]]");
+
+        assertThat(JsonWheel.write(node)).isEqualTo("[[1,2,-3],[1,12345678901],[1.5,-0.25]]");
+    }
+
+    @Test
+    void builder() {
+        var builder = new StringBuilder("foo");
+
+        JsonWheel.write(List.of(1, 2), builder);
+
+        assertThat(builder).hasToString("foo[1,2]");
+    }
+
+    @Test
+    void writerThroughSmallBuffer() {
+        var node = JsonWheel.read(JSON);
+        var writer = new StringWriter();
+        var serializer = new JsonWheel.CharSerializer(writer, 3);
+
+        serializer.value(node);
+        serializer.flush();
+
+        assertThat(writer).hasToString(JsonWheel.write(node));
+    }
+
+    @Test
+    void writer() {
+        var writer = new StringWriter();
+
+        JsonWheel.write(JsonWheel.read(JSON), writer);
+
+        assertThat(writer).hasToString(JsonWheel.write(JsonWheel.read(JSON)));
+    }
+
+    @Test
+    void outputStreamThroughSmallBuffer() {
+        var node = JsonWheel.read(JSON);
+        var out = new ByteArrayOutputStream();
+        var serializer = new JsonWheel.ByteSerializer(out, 3);
+
+        serializer.value(node);
+        serializer.flush();
+
+        assertThat(out.toByteArray()).isEqualTo(JsonWheel.writeBytes(node));
+    }
+
+    @Test
+    void outputStream() {
+        var out = new ByteArrayOutputStream();
+
+        JsonWheel.write(JsonWheel.read(JSON), out);
+
+        assertThat(out.toByteArray()).isEqualTo(JsonWheel.write(JsonWheel.read(JSON)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void longStrings() {
+        var chars = new char[10_000];
+        Arrays.fill(chars, 'ß');
+        var string = new String(chars);
+
+        assertThat(JsonWheel.write(string)).isEqualTo("\"" + string + "\"");
+        assertThat(JsonWheel.writeBytes(string)).isEqualTo(("\"" + string + "\"").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cycle() {
+        var map = new HashMap<String, Object>();
+        map.put("self", map);
+
+        assertThatThrownBy(() -> JsonWheel.write(map))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Nesting deeper than 1024");
+    }
+
+    @Test
+    void unsupported() {
+        assertThatThrownBy(() -> JsonWheel.write(new Object()))
+                .isInstanceOf(JsonWheelException.class)
+                .hasMessage("Cannot write java.lang.Object");
+    }
+}